@@ -0,0 +1,13 @@
+package com.example.bottombar.sample;
+
+import android.app.Application;
+
+public class SampleApplication extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Use the tab XML resources compiled by tabspecs.gradle instead of parsing them.
+        BottomBarTabSpecs.register();
+    }
+}
@@ -0,0 +1,29 @@
+package com.roughike.bottombar;
+
+import android.os.Debug;
+
+/**
+ * Counts the objects allocated by the current thread while running a piece of
+ * work. The work is run once before counting, so lazily created state and
+ * class loading don't count.
+ */
+final class AllocationCounter {
+    private AllocationCounter() {
+    }
+
+    @SuppressWarnings("deprecation")
+    static int countAllocations(Runnable work) {
+        work.run();
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+
+        try {
+            work.run();
+        } finally {
+            Debug.stopAllocCounting();
+        }
+
+        return Debug.getThreadAllocCount();
+    }
+}
@@ -0,0 +1,104 @@
+package com.roughike.bottombar;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class AnimationPolicyTest {
+    private AnimationPolicy policy;
+
+    @Before
+    public void setUp() {
+        policy = new AnimationPolicy(InstrumentationRegistry.getContext());
+    }
+
+    @Test
+    public void startsWithReveal() {
+        assertEquals(BottomBar.AnimationLevel.REVEAL, policy.getJankLevel());
+    }
+
+    @Test
+    public void singleJankyTransition_KeepsLevel() {
+        policy.onTransitionMeasured(10, 5);
+
+        assertEquals(BottomBar.AnimationLevel.REVEAL, policy.getJankLevel());
+    }
+
+    @Test
+    public void jankyTransitionsInARow_StepDownOneLevelAtATime() {
+        policy.onTransitionMeasured(10, 5);
+        policy.onTransitionMeasured(10, 5);
+        assertEquals(BottomBar.AnimationLevel.CROSSFADE, policy.getJankLevel());
+
+        policy.onTransitionMeasured(10, 5);
+        policy.onTransitionMeasured(10, 5);
+        assertEquals(BottomBar.AnimationLevel.INSTANT, policy.getJankLevel());
+
+        policy.onTransitionMeasured(10, 5);
+        policy.onTransitionMeasured(10, 5);
+        assertEquals(BottomBar.AnimationLevel.INSTANT, policy.getJankLevel());
+    }
+
+    @Test
+    public void smoothTransitionInBetween_ResetsTheStreak() {
+        policy.onTransitionMeasured(10, 5);
+        policy.onTransitionMeasured(10, 0);
+        policy.onTransitionMeasured(10, 5);
+
+        assertEquals(BottomBar.AnimationLevel.REVEAL, policy.getJankLevel());
+    }
+
+    @Test
+    public void smoothTransitionsInARow_StepBackUp() {
+        policy.onTransitionMeasured(10, 5);
+        policy.onTransitionMeasured(10, 5);
+        assertEquals(BottomBar.AnimationLevel.CROSSFADE, policy.getJankLevel());
+
+        for (int i = 0; i < 9; i++) {
+            policy.onTransitionMeasured(10, 0);
+        }
+
+        assertEquals(BottomBar.AnimationLevel.CROSSFADE, policy.getJankLevel());
+
+        policy.onTransitionMeasured(10, 0);
+        assertEquals(BottomBar.AnimationLevel.REVEAL, policy.getJankLevel());
+    }
+
+    @Test
+    public void instantTransitionsWithoutFrames_CountAsSmooth() {
+        for (int i = 0; i < 4; i++) {
+            policy.onTransitionMeasured(10, 5);
+        }
+
+        assertEquals(BottomBar.AnimationLevel.INSTANT, policy.getJankLevel());
+
+        for (int i = 0; i < 10; i++) {
+            policy.onTransitionMeasured(0, 0);
+        }
+
+        assertEquals(BottomBar.AnimationLevel.CROSSFADE, policy.getJankLevel());
+    }
+
+    @Test
+    public void listening_CanBeStartedAndStoppedRepeatedly() {
+        BottomBar.AnimationLevel uncachedLevel = policy.getLevel();
+
+        policy.startListening();
+        policy.startListening();
+        assertTrue(policy.isListening());
+        assertEquals(uncachedLevel, policy.getLevel());
+
+        policy.stopListening();
+        policy.stopListening();
+        assertFalse(policy.isListening());
+        assertEquals(uncachedLevel, policy.getLevel());
+    }
+}
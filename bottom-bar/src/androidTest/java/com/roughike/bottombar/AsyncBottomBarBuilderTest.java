@@ -0,0 +1,217 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static android.support.test.InstrumentationRegistry.getInstrumentation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class AsyncBottomBarBuilderTest {
+    private static final int THREE_TABS = com.roughike.bottombar.test.R.xml.dummy_tabs_three;
+
+    private QueueExecutor executor;
+    private RecordingCallback callback;
+    private AsyncBottomBarBuilder builder;
+
+    @Before
+    public void setUp() {
+        executor = new QueueExecutor();
+        callback = new RecordingCallback();
+        builder = new AsyncBottomBarBuilder(InstrumentationRegistry.getTargetContext())
+                .executor(executor);
+    }
+
+    @Test
+    public void nothingIsBuilt_UntilExecutorRuns() {
+        builder.items(THREE_TABS).build(callback);
+        getInstrumentation().waitForIdleSync();
+
+        assertEquals(1, executor.pending.size());
+        assertNull(callback.bottomBar);
+    }
+
+    @Test
+    public void builtBottomBar_IsDeliveredOnMainThreadWithTabs() {
+        builder.items(THREE_TABS).build(callback);
+        executor.runAll();
+        getInstrumentation().waitForIdleSync();
+
+        assertNotNull(callback.bottomBar);
+        assertTrue(callback.calledOnMainThread);
+        assertNull(callback.bottomBar.getParent());
+        assertEquals(3, callback.bottomBar.getTabCount());
+    }
+
+    @Test
+    public void cancelledBeforeRunning_CallbackNotCalled() {
+        AsyncBottomBarBuilder.Task task = builder.items(THREE_TABS).build(callback);
+        task.cancel();
+        executor.runAll();
+        getInstrumentation().waitForIdleSync();
+
+        assertTrue(task.isCancelled());
+        assertNull(callback.bottomBar);
+        assertNull(callback.exception);
+    }
+
+    @Test
+    public void cancelledBeforeDelivery_CallbackNotCalled() {
+        AsyncBottomBarBuilder.Task task = builder.items(THREE_TABS).build(callback);
+        executor.runAll();
+        task.cancel();
+        getInstrumentation().waitForIdleSync();
+
+        assertNull(callback.bottomBar);
+        assertNull(callback.exception);
+    }
+
+    @Test
+    public void failedBuild_IsDeliveredToCallback() {
+        builder.items(Collections.<TabSpec>emptyList()).build(callback);
+        executor.runAll();
+        getInstrumentation().waitForIdleSync();
+
+        assertNull(callback.bottomBar);
+        assertNotNull(callback.exception);
+        assertTrue(callback.calledOnMainThread);
+    }
+
+    @Test
+    public void tabSpecItems_AreUsedAsIs() {
+        TabSpec spec = new TabSpec.Builder()
+                .id(com.roughike.bottombar.test.R.id.tab_favorites)
+                .title("Specced")
+                .build();
+
+        builder.items(Collections.singletonList(spec)).build(callback);
+        executor.runAll();
+        getInstrumentation().waitForIdleSync();
+
+        BottomBarTab tab = callback.bottomBar.getTabAtPosition(0);
+        assertEquals(1, callback.bottomBar.getTabCount());
+        assertEquals("Specced", tab.getTitle());
+        assertSame(tab, callback.bottomBar.getCurrentTab());
+    }
+
+    @Test
+    public void buildingOnExecutor_WhileMainThreadBarIsClicked_Succeeds() throws Exception {
+        final int builds = 20;
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final CountDownLatch done = new CountDownLatch(builds);
+        final List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<RuntimeException>());
+        final BottomBar[] mainBar = new BottomBar[1];
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mainBar[0] = new BottomBar(context);
+                mainBar[0].setItems(THREE_TABS);
+            }
+        });
+
+        ExecutorService background = Executors.newSingleThreadExecutor();
+
+        try {
+            for (int i = 0; i < builds; i++) {
+                // A new color for every build, so both threads keep adding to the tint caches.
+                BottomBarTab.Config config = new BottomBarTab.Config.Builder()
+                        .activeTabAlpha(1)
+                        .inActiveTabAlpha(0.6f)
+                        .activeTabColor(0xFF000000 | i)
+                        .inActiveTabColor(0xFF000100 | i)
+                        .build();
+
+                new AsyncBottomBarBuilder(context)
+                        .executor(background)
+                        .items(THREE_TABS)
+                        .tabConfig(config)
+                        .build(new AsyncBottomBarBuilder.Callback() {
+                            @Override
+                            public void onBottomBarReady(@NonNull BottomBar bottomBar) {
+                                done.countDown();
+                            }
+
+                            @Override
+                            public void onBottomBarFailed(@NonNull RuntimeException exception) {
+                                failures.add(exception);
+                                done.countDown();
+                            }
+                        });
+            }
+
+            for (int click = 0; done.getCount() > 0 && click < 1000; click++) {
+                final int position = click % 3;
+
+                getInstrumentation().runOnMainSync(new Runnable() {
+                    @Override
+                    public void run() {
+                        mainBar[0].getTabAtPosition(position).performClick();
+                    }
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(failures.isEmpty());
+        } finally {
+            background.shutdown();
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+        final List<Runnable> pending = new ArrayList<>();
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            pending.add(command);
+        }
+
+        void runAll() {
+            for (Runnable runnable : pending) {
+                runnable.run();
+            }
+
+            pending.clear();
+        }
+    }
+
+    private static class RecordingCallback implements AsyncBottomBarBuilder.Callback {
+        BottomBar bottomBar;
+        RuntimeException exception;
+        boolean calledOnMainThread;
+
+        @Override
+        public void onBottomBarReady(@NonNull BottomBar bottomBar) {
+            this.bottomBar = bottomBar;
+            calledOnMainThread = Looper.myLooper() == Looper.getMainLooper();
+        }
+
+        @Override
+        public void onBottomBarFailed(@NonNull RuntimeException exception) {
+            this.exception = exception;
+            calledOnMainThread = Looper.myLooper() == Looper.getMainLooper();
+        }
+    }
+}
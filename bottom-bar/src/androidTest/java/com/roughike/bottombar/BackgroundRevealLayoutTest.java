@@ -0,0 +1,65 @@
+package com.roughike.bottombar;
+
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class BackgroundRevealLayoutTest {
+    private BackgroundRevealLayout layout;
+
+    @Before
+    public void setUp() {
+        layout = new BackgroundRevealLayout(InstrumentationRegistry.getContext());
+        layout.setBackgroundColor(Color.WHITE);
+    }
+
+    @Test
+    @UiThreadTest
+    public void reveal_KeepsOldBackgroundUntilFinished() {
+        layout.startReveal(10, 10, Color.RED);
+        layout.setRevealFraction(0.5f);
+
+        assertTrue(layout.isRevealing());
+        assertEquals(Color.WHITE, getBackgroundColor());
+
+        layout.finishReveal();
+
+        assertFalse(layout.isRevealing());
+        assertEquals(Color.RED, getBackgroundColor());
+    }
+
+    @Test
+    @UiThreadTest
+    public void newReveal_CommitsThePreviousColor() {
+        layout.startReveal(10, 10, Color.RED);
+        layout.startReveal(10, 10, Color.BLUE);
+
+        assertEquals(Color.RED, getBackgroundColor());
+
+        layout.finishReveal();
+        assertEquals(Color.BLUE, getBackgroundColor());
+    }
+
+    @Test
+    @UiThreadTest
+    public void finishWithoutReveal_KeepsBackground() {
+        layout.finishReveal();
+
+        assertEquals(Color.WHITE, getBackgroundColor());
+    }
+
+    private int getBackgroundColor() {
+        return ((ColorDrawable) layout.getBackground()).getColor();
+    }
+}
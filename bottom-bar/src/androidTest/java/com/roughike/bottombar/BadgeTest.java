@@ -1,10 +1,16 @@
 package com.roughike.bottombar;
 
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.annotation.UiThreadTest;
 import android.support.test.filters.LargeTest;
 import android.support.test.runner.AndroidJUnit4;
+import android.support.v4.graphics.drawable.DrawableCompat;
+import android.view.ViewGroup;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -14,9 +20,12 @@ import org.junit.runner.RunWith;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNull;
-import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 /**
  * Created by iiro on 8.8.2016.
@@ -87,12 +96,61 @@ public class BadgeTest {
     @Test
     @UiThreadTest
     public void badgeRemovedProperly() {
-        assertNotEquals(bottomBar.findViewById(R.id.bb_bottom_bar_item_container), nearby.getOuterView());
-        assertEquals(2, nearby.getOuterView().getChildCount());
-        assertTrue(nearby.getOuterView().getChildAt(1) instanceof BottomBarBadge);
-
         nearby.removeBadge();
         assertNull(nearby.badge);
         assertEquals(bottomBar.findViewById(R.id.bb_bottom_bar_item_container), nearby.getOuterView());
     }
+
+    @Test
+    @UiThreadTest
+    public void addingAndRemovingBadge_DoesNotChangeViewTree() {
+        ViewGroup tabContainer = (ViewGroup) bottomBar.findViewById(R.id.bb_bottom_bar_item_container);
+        BottomBarTab favorites = bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_favorites);
+        int childCount = tabContainer.getChildCount();
+
+        favorites.setBadgeCount(3);
+        assertSame(tabContainer, nearby.getOuterView());
+        assertSame(tabContainer, favorites.getOuterView());
+        assertEquals(childCount, tabContainer.getChildCount());
+        assertEquals(0, tabContainer.indexOfChild(favorites));
+
+        favorites.removeBadge();
+        assertEquals(childCount, tabContainer.getChildCount());
+    }
+
+    @Test
+    @UiThreadTest
+    public void countChanges_InvalidateTheBadgeOnce() {
+        BottomBarBadge badge = new BottomBarBadge(InstrumentationRegistry.getContext(), Color.RED, 99);
+        badge.setCount(5, false);
+
+        Drawable.Callback callback = mock(Drawable.Callback.class);
+        badge.setCallback(callback);
+
+        badge.setCount(6, false);
+        verify(callback, times(1)).invalidateDrawable(badge);
+
+        badge.setCount(10, false);
+        verify(callback, times(2)).invalidateDrawable(badge);
+
+        badge.setCount(10, false);
+        badge.setMaxCount(99);
+        verifyNoMoreInteractions(callback);
+    }
+
+    @Test
+    @UiThreadTest
+    public void fadingOneBadge_DoesNotFadeOthersOfSameColor() {
+        BottomBarBadge faded = new BottomBarBadge(InstrumentationRegistry.getContext(), Color.RED, 99);
+        BottomBarBadge other = new BottomBarBadge(InstrumentationRegistry.getContext(), Color.RED, 99);
+        faded.setCount(3, false);
+        faded.setAlpha(40);
+
+        Bitmap bitmap = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+        faded.draw(new Canvas(bitmap));
+        bitmap.recycle();
+
+        assertEquals(40, DrawableCompat.getAlpha(faded.getBackgroundCircle()));
+        assertEquals(255, DrawableCompat.getAlpha(other.getBackgroundCircle()));
+    }
 }
@@ -0,0 +1,56 @@
+package com.roughike.bottombar;
+
+import android.graphics.Paint;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class BadgeTextCacheTest {
+    private Paint paint;
+
+    @Before
+    public void setUp() {
+        paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(24);
+    }
+
+    @Test
+    public void countsAboveMax_ShowAsMaxWithPlus() {
+        BadgeTextCache cache = BadgeTextCache.get(paint, 99);
+
+        assertEquals("99", cache.getText(99));
+        assertEquals("99+", cache.getText(100));
+        assertEquals("99+", cache.getText(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void sameCount_ReturnsSameText() {
+        BadgeTextCache cache = BadgeTextCache.get(paint, 99);
+
+        assertSame(cache.getText(42), cache.getText(42));
+    }
+
+    @Test
+    public void width_OnlyDependsOnDigitCount() {
+        BadgeTextCache cache = BadgeTextCache.get(paint, 99);
+
+        assertEquals(cache.getWidth(1), cache.getWidth(8), 0);
+        assertEquals(cache.getWidth(10), cache.getWidth(77), 0);
+        assertTrue(cache.getWidth(10) > cache.getWidth(9));
+        assertTrue(cache.getWidth(100) > cache.getWidth(99));
+    }
+
+    @Test
+    public void samePaintAndMax_SharesCache() {
+        assertSame(BadgeTextCache.get(paint, 99), BadgeTextCache.get(paint, 99));
+        assertNotSame(BadgeTextCache.get(paint, 99), BadgeTextCache.get(paint, 9));
+    }
+}
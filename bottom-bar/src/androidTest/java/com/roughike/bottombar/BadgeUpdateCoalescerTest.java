@@ -0,0 +1,74 @@
+package com.roughike.bottombar;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.SparseIntArray;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class BadgeUpdateCoalescerTest {
+    private BottomBar bottomBar;
+    private BadgeUpdateCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        bottomBar = new BottomBar(InstrumentationRegistry.getContext());
+        bottomBar.setItems(com.roughike.bottombar.test.R.xml.dummy_tabs_three);
+        coalescer = new BadgeUpdateCoalescer(bottomBar);
+    }
+
+    @Test
+    @UiThreadTest
+    public void updatesAreNotAppliedBeforeTheFrame() {
+        coalescer.post(com.roughike.bottombar.test.R.id.tab_nearby, 5);
+
+        assertTrue(coalescer.hasPendingUpdates());
+        assertNull(bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_nearby).badge);
+    }
+
+    @Test
+    @UiThreadTest
+    public void severalUpdatesInOneFrame_ApplyLatestCount() {
+        SparseIntArray counts = new SparseIntArray();
+        counts.put(com.roughike.bottombar.test.R.id.tab_nearby, 1);
+        counts.put(com.roughike.bottombar.test.R.id.tab_friends, 2);
+        coalescer.postAll(counts);
+
+        counts.put(com.roughike.bottombar.test.R.id.tab_nearby, 7);
+        coalescer.postAll(counts);
+        coalescer.run();
+
+        assertFalse(coalescer.hasPendingUpdates());
+        assertEquals(7, bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_nearby).badge.getCount());
+        assertEquals(2, bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_friends).badge.getCount());
+    }
+
+    @Test
+    @UiThreadTest
+    public void zeroCount_RemovesBadge() {
+        bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_nearby).setBadgeCount(3);
+
+        coalescer.post(com.roughike.bottombar.test.R.id.tab_nearby, 0);
+        coalescer.run();
+
+        assertNull(bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_nearby).badge);
+    }
+
+    @Test
+    @UiThreadTest
+    public void unknownTabIds_AreIgnored() {
+        coalescer.post(12345, 3);
+        coalescer.run();
+
+        assertFalse(coalescer.hasPendingUpdates());
+    }
+}
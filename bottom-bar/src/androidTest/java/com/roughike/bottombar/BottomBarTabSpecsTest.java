@@ -0,0 +1,49 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.roughike.bottombar.test.BottomBarTabSpecs;
+import com.roughike.bottombar.test.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the TabSpecs generated from the tab XML at build time are the
+ * same as the ones TabParser reads from it at runtime.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BottomBarTabSpecsTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+    }
+
+    @Test
+    public void generatedTabs_MatchParsedTabs() {
+        assertEquals(
+                new TabParser(context, R.xml.dummy_tabs_five).parseTabs(),
+                BottomBarTabSpecs.dummyTabsFive(context)
+        );
+    }
+
+    @Test
+    public void whiteColors_AreNotSetLikeInParsedTabs() {
+        List<TabSpec> parsed = new TabParser(context, R.xml.dummy_tabs_white).parseTabs();
+        List<TabSpec> generated = BottomBarTabSpecs.dummyTabsWhite(context);
+
+        assertNull(parsed.get(0).getInActiveColor());
+        assertNull(parsed.get(0).getActiveColor());
+        assertEquals(parsed, generated);
+    }
+}
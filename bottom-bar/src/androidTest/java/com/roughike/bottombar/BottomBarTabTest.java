@@ -1,7 +1,9 @@
 package com.roughike.bottombar;
 
+import android.graphics.Color;
 import android.os.Bundle;
 import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
 import android.support.test.runner.AndroidJUnit4;
 import android.widget.FrameLayout;
 
@@ -10,6 +12,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 @RunWith(AndroidJUnit4.class)
 public class BottomBarTabTest {
@@ -25,27 +29,82 @@ public class BottomBarTabTest {
     }
 
     @Test
-    public void correctLayoutReturnedForFixedTab() {
+    public void prepareLayout_ForFixedTab_CreatesIconAndTitle() {
         tab.setType(BottomBarTab.Type.FIXED);
-        assertEquals(R.layout.bb_bottom_bar_item_fixed, tab.getLayoutResource());
+        tab.prepareLayout();
+
+        assertEquals(2, tab.getChildCount());
+        assertNotNull(tab.getIconView());
+        assertNotNull(tab.getTitleView());
     }
 
     @Test(expected = IllegalStateException.class)
     public void setIsTitleless_WhenTrueAndIconDoesNotExist_ThrowsException() {
         tab.setIsTitleless(true);
-        assertEquals(R.layout.bb_bottom_bar_item_titleless, tab.getLayoutResource());
     }
 
     @Test
-    public void correctLayoutForShiftingTab() {
+    public void prepareLayout_ForTitlelessTab_CreatesOnlyIcon() {
+        tab.setIconResId(com.roughike.bottombar.test.R.drawable.empty_icon);
+        tab.setIsTitleless(true);
+        tab.setType(BottomBarTab.Type.FIXED);
+        tab.prepareLayout();
+
+        assertEquals(1, tab.getChildCount());
+        assertNull(tab.getTitleView());
+    }
+
+    @Test
+    public void prepareLayout_ForShiftingTab_CreatesIconAndTitle() {
         tab.setType(BottomBarTab.Type.SHIFTING);
-        assertEquals(R.layout.bb_bottom_bar_item_shifting, tab.getLayoutResource());
+        tab.prepareLayout();
+
+        assertEquals(2, tab.getChildCount());
+        assertNotNull(tab.getTitleView());
     }
 
     @Test
-    public void correctLayoutForTabletTab() {
+    public void prepareLayout_ForTabletTab_CreatesOnlyIcon() {
         tab.setType(BottomBarTab.Type.TABLET);
-        assertEquals(R.layout.bb_bottom_bar_item_fixed_tablet, tab.getLayoutResource());
+        tab.prepareLayout();
+
+        assertEquals(1, tab.getChildCount());
+        assertNull(tab.getTitleView());
+    }
+
+    @Test
+    @UiThreadTest
+    public void repeatedSelectionTransitions_DoNotAllocate() {
+        tab.setConfig(new BottomBarTab.Config.Builder()
+                .inActiveTabAlpha(0.6f)
+                .activeTabAlpha(1)
+                .inActiveTabColor(Color.GRAY)
+                .activeTabColor(Color.BLUE)
+                .build());
+        tab.setIconResId(com.roughike.bottombar.test.R.drawable.empty_icon);
+        tab.setType(BottomBarTab.Type.FIXED);
+        tab.prepareLayout();
+
+        int allocations = AllocationCounter.countAllocations(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 20; i++) {
+                    if (i % 2 == 0) {
+                        tab.select(true);
+                    } else {
+                        tab.deselect(true);
+                    }
+
+                    for (int frame = 0; frame <= 10; frame++) {
+                        tab.applySelectionTransition(frame / 10f);
+                    }
+
+                    tab.finishSelectionTransition();
+                }
+            }
+        });
+
+        assertEquals(0, allocations);
     }
 
     @Test
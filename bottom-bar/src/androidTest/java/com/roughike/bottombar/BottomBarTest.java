@@ -4,28 +4,37 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
+import android.support.annotation.NonNull;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.annotation.UiThreadTest;
 import android.support.test.filters.LargeTest;
 import android.support.test.runner.AndroidJUnit4;
+import android.view.ViewGroup;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 import static android.support.test.InstrumentationRegistry.getInstrumentation;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -103,6 +112,194 @@ public class BottomBarTest {
         assertThat(bottomBar.getTabCount(), is(5));
     }
 
+    @Test
+    public void setItemsFromTabSpecs_CreatesTabsWithSpecValues() {
+        BottomBar newBar = new BottomBar(context);
+        newBar.setItems(Arrays.asList(
+                new TabSpec.Builder()
+                        .id(com.roughike.bottombar.test.R.id.tab_favorites)
+                        .iconResId(com.roughike.bottombar.test.R.drawable.empty_icon)
+                        .title("Favorites")
+                        .activeColor(Color.RED)
+                        .build(),
+                new TabSpec.Builder()
+                        .id(com.roughike.bottombar.test.R.id.tab_nearby)
+                        .iconResId(com.roughike.bottombar.test.R.drawable.empty_icon)
+                        .title("Nearby")
+                        .build()
+        ), DEFAULT_CONFIG);
+
+        assertEquals(2, newBar.getTabCount());
+
+        BottomBarTab first = newBar.getTabAtPosition(0);
+        assertEquals(com.roughike.bottombar.test.R.id.tab_favorites, first.getId());
+        assertEquals("Favorites", first.getTitle());
+        assertEquals(Color.RED, first.getActiveColor());
+        assertEquals(INACTIVE_TAB_COLOR, first.getInActiveColor());
+
+        BottomBarTab second = newBar.getTabAtPosition(1);
+        assertEquals(ACTIVE_TAB_COLOR, second.getActiveColor());
+    }
+
+    @Test
+    public void setItems_AfterAlreadySet_ReusesInflatedTabs() {
+        BottomBarTab previousFirst = bottomBar.getTabAtPosition(0);
+        BottomBarTab previousSecond = bottomBar.getTabAtPosition(1);
+        previousSecond.setBadgeCount(3);
+
+        bottomBar.setItems(Arrays.asList(
+                new TabSpec.Builder()
+                        .id(com.roughike.bottombar.test.R.id.tab_food)
+                        .iconResId(com.roughike.bottombar.test.R.drawable.empty_icon)
+                        .title("Food")
+                        .build(),
+                new TabSpec.Builder()
+                        .id(com.roughike.bottombar.test.R.id.tab_recents)
+                        .iconResId(com.roughike.bottombar.test.R.drawable.empty_icon)
+                        .title("Recents")
+                        .build()
+        ), DEFAULT_CONFIG);
+
+        assertEquals(2, bottomBar.getTabCount());
+
+        BottomBarTab first = bottomBar.getTabAtPosition(0);
+        BottomBarTab second = bottomBar.getTabAtPosition(1);
+        assertTrue(first == previousFirst || first == previousSecond
+                || second == previousFirst || second == previousSecond);
+
+        assertEquals(com.roughike.bottombar.test.R.id.tab_food, first.getId());
+        assertEquals("Food", first.getTitleView().getText().toString());
+        assertEquals("Recents", second.getTitleView().getText().toString());
+        assertFalse(first.hasActiveBadge());
+        assertFalse(second.hasActiveBadge());
+    }
+
+    @Test
+    public void setItems_WithPlainConfig_ResetsTitleOfReusedTabs() {
+        List<BottomBarTab> previousTabs = Arrays.asList(
+                bottomBar.getTabAtPosition(0),
+                bottomBar.getTabAtPosition(1),
+                bottomBar.getTabAtPosition(2));
+        BottomBarTab.Config plainConfig = new BottomBarTab.Config.Builder()
+                .inActiveTabAlpha(INACTIVE_TAB_ALPHA)
+                .activeTabAlpha(ACTIVE_TAB_ALPHA)
+                .inActiveTabColor(INACTIVE_TAB_COLOR)
+                .activeTabColor(ACTIVE_TAB_COLOR)
+                .build();
+
+        bottomBar.setItems(THREE_TABS, plainConfig);
+
+        BottomBarTab first = bottomBar.getTabAtPosition(0);
+        assertTrue(previousTabs.contains(first));
+        assertNotEquals(TITLE_TEXT_APPEARANCE, first.getCurrentDisplayedTextAppearance());
+        assertEquals(Typeface.DEFAULT, first.getTitleView().getTypeface());
+    }
+
+    @Test
+    public void setItems_WithChangedTitle_KeepsTabsSelectionAndBadges() {
+        BottomBarTab favorites = bottomBar.getTabAtPosition(0);
+        BottomBarTab nearby = bottomBar.getTabAtPosition(1);
+        BottomBarTab friends = bottomBar.getTabAtPosition(2);
+
+        bottomBar.selectTabAtPosition(2);
+        nearby.setBadgeCount(4);
+        reset(selectListener);
+
+        bottomBar.setItems(Arrays.asList(
+                spec(com.roughike.bottombar.test.R.id.tab_favorites, "Favorites"),
+                spec(com.roughike.bottombar.test.R.id.tab_nearby, "Near you"),
+                spec(com.roughike.bottombar.test.R.id.tab_friends, "Friends")
+        ), DEFAULT_CONFIG);
+
+        assertSame(favorites, bottomBar.getTabAtPosition(0));
+        assertSame(nearby, bottomBar.getTabAtPosition(1));
+        assertSame(friends, bottomBar.getTabAtPosition(2));
+        assertEquals("Near you", nearby.getTitle());
+        assertEquals(2, bottomBar.getCurrentTabPosition());
+        assertEquals(4, nearby.badge.getCount());
+        verifyZeroInteractions(selectListener);
+    }
+
+    @Test
+    public void setItems_WithEqualConfig_KeepsTabs() {
+        BottomBarTab favorites = bottomBar.getTabAtPosition(0);
+        BottomBarTab.Config equalConfig = new BottomBarTab.Config.Builder()
+                .inActiveTabAlpha(INACTIVE_TAB_ALPHA)
+                .activeTabAlpha(ACTIVE_TAB_ALPHA)
+                .inActiveTabColor(INACTIVE_TAB_COLOR)
+                .activeTabColor(ACTIVE_TAB_COLOR)
+                .barColorWhenSelected(BACKGROUND_COLOR)
+                .badgeBackgroundColor(BADGE_BACKGROUND_COLOR)
+                .hideBadgeWhenSelected(DEFAULT_BADGE_HIDES_WHEN_SELECTED_VALUE)
+                .titleTextAppearance(TITLE_TEXT_APPEARANCE)
+                .titleTypeFace(TYPEFACE)
+                .build();
+
+        assertEquals(DEFAULT_CONFIG, equalConfig);
+        assertEquals(DEFAULT_CONFIG.hashCode(), equalConfig.hashCode());
+
+        bottomBar.setItems(THREE_TABS, equalConfig);
+
+        assertSame(favorites, bottomBar.getTabAtPosition(0));
+    }
+
+    @Test
+    public void setItemsAsync_WithEqualConfig_KeepsTabs() {
+        BottomBarTab nearby = bottomBar.getTabAtPosition(1);
+
+        bottomBar.setItemsAsync(Arrays.asList(
+                spec(com.roughike.bottombar.test.R.id.tab_favorites, "Favorites"),
+                spec(com.roughike.bottombar.test.R.id.tab_nearby, "Near you"),
+                spec(com.roughike.bottombar.test.R.id.tab_friends, "Friends")
+        ), DEFAULT_CONFIG, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        getInstrumentation().waitForIdleSync();
+
+        assertSame(nearby, bottomBar.getTabAtPosition(1));
+        assertEquals("Near you", nearby.getTitle());
+        assertEquals(TYPEFACE, nearby.getTitleTypeFace());
+    }
+
+    @Test
+    public void setItems_WithMovedAndInsertedTabs_KeepsSelectedTab() {
+        BottomBarTab friends = bottomBar.getTabAtPosition(2);
+        bottomBar.selectTabAtPosition(2);
+        reset(selectListener);
+
+        bottomBar.setItems(Arrays.asList(
+                spec(com.roughike.bottombar.test.R.id.tab_friends, "Friends"),
+                spec(com.roughike.bottombar.test.R.id.tab_food, "Food"),
+                spec(com.roughike.bottombar.test.R.id.tab_favorites, "Favorites"),
+                spec(com.roughike.bottombar.test.R.id.tab_nearby, "Nearby")
+        ), DEFAULT_CONFIG);
+
+        assertEquals(4, bottomBar.getTabCount());
+        assertSame(friends, bottomBar.getTabAtPosition(0));
+        assertSame(friends, bottomBar.getCurrentTab());
+        assertEquals(0, friends.getIndexInTabContainer());
+        assertEquals(1, bottomBar.findPositionForTabWithId(com.roughike.bottombar.test.R.id.tab_food));
+        verifyZeroInteractions(selectListener);
+    }
+
+    @Test
+    public void setItems_WithSelectedTabRemoved_SelectsTabInItsPlace() {
+        bottomBar.selectTabAtPosition(1);
+        reset(selectListener);
+
+        bottomBar.setItems(Arrays.asList(
+                spec(com.roughike.bottombar.test.R.id.tab_favorites, "Favorites"),
+                spec(com.roughike.bottombar.test.R.id.tab_friends, "Friends")
+        ), DEFAULT_CONFIG);
+
+        assertEquals(2, bottomBar.getTabCount());
+        assertEquals(com.roughike.bottombar.test.R.id.tab_friends, bottomBar.getCurrentTabId());
+        verify(selectListener).onTabSelected(com.roughike.bottombar.test.R.id.tab_friends);
+    }
+
     @Test
     public void setItemsWithCustomConfig_OverridesPreviousValues() {
         BottomBar newBar = new BottomBar(context);
@@ -205,6 +402,25 @@ public class BottomBarTest {
         assertEquals(2, bottomBar.findPositionForTabWithId(com.roughike.bottombar.test.R.id.tab_friends));
     }
 
+    @Test
+    @UiThreadTest
+    public void findingTabsWithUnknownIdOrPosition_ReturnsNothing() {
+        assertEquals(-1, bottomBar.findPositionForTabWithId(com.roughike.bottombar.test.R.id.tab_food));
+        assertNull(bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_food));
+        assertNull(bottomBar.getTabAtPosition(3));
+    }
+
+    @Test
+    @UiThreadTest
+    public void tabLookups_DoNotDependOnTheViewTree() {
+        BottomBarTab nearby = bottomBar.getTabAtPosition(1);
+        ((ViewGroup) nearby.getParent()).removeView(nearby);
+
+        assertEquals(3, bottomBar.getTabCount());
+        assertSame(nearby, bottomBar.getTabWithId(com.roughike.bottombar.test.R.id.tab_nearby));
+        assertEquals(1, bottomBar.findPositionForTabWithId(com.roughike.bottombar.test.R.id.tab_nearby));
+    }
+
     @Test
     @UiThreadTest
     public void whenTabIsSelected_SelectionListenerIsFired() {
@@ -601,6 +817,18 @@ public class BottomBarTest {
         assertEquals(testTypeface, tab.getTitleView().getTypeface());
     }
 
+    @Test
+    public void setTitleTypefaceFromAsset_UsesTheCachedTypeface() {
+        String fontPath = "fonts/GreatVibes-Regular.otf";
+
+        bottomBar.setTabTitleTypeface(fontPath);
+
+        Typeface typeface = TypefaceCache.getCached(fontPath);
+        assertNotNull(typeface);
+        assertSame(typeface, bottomBar.getCurrentTab().getTitleTypeFace());
+        assertSame(typeface, bottomBar.getTabAtPosition(2).getTitleTypeFace());
+    }
+
     @Test
     public void setTitleTypeface_LeavesOtherValuesIntact() {
         bottomBar.setTabTitleTypeface(Typeface.DEFAULT);
@@ -617,4 +845,58 @@ public class BottomBarTest {
         assertEquals(TITLE_TEXT_APPEARANCE, inActiveTab.getTitleTextAppearance());
         assertEquals(Typeface.DEFAULT, inActiveTab.getTitleTypeFace());
     }
+
+    @Test
+    @UiThreadTest
+    public void edit_AppliesAllChangesToEveryTab() {
+        bottomBar.edit()
+                .setInActiveTabColor(Color.GREEN)
+                .setActiveTabColor(Color.RED)
+                .setInActiveTabAlpha(0.1f)
+                .setBadgeMaxCount(9)
+                .apply();
+
+        BottomBarTab activeTab = bottomBar.getCurrentTab();
+        BottomBarTab inActiveTab = bottomBar.getTabAtPosition(1);
+
+        assertEquals(Color.RED, activeTab.getCurrentDisplayedIconColor());
+        assertEquals(Color.GREEN, inActiveTab.getCurrentDisplayedIconColor());
+        assertEquals(0.1f, inActiveTab.getIconView().getAlpha(), 0);
+        assertEquals(9, inActiveTab.getBadgeMaxCount());
+        assertEquals(BADGE_BACKGROUND_COLOR, inActiveTab.getBadgeBackgroundColor());
+    }
+
+    @Test
+    @UiThreadTest
+    public void edit_OnlyFlagsValuesThatChange() {
+        BottomBarTab tab = bottomBar.getTabAtPosition(1);
+        BottomBarEditor edit = bottomBar.edit()
+                .setInActiveTabColor(INACTIVE_TAB_COLOR)
+                .setActiveTabAlpha(ACTIVE_TAB_ALPHA)
+                .setTabTitleTypeface(TYPEFACE);
+
+        assertEquals(0, edit.getDirtyProperties(tab));
+
+        edit.setActiveTabColor(Color.RED);
+        assertEquals(BottomBarEditor.ACTIVE_COLOR, edit.getDirtyProperties(tab));
+    }
+
+    @Test
+    @UiThreadTest
+    public void edit_NewTabsGetTheEditedValues() {
+        bottomBar.edit()
+                .setActiveTabColor(Color.RED)
+                .apply();
+        bottomBar.setItems(THREE_TABS);
+
+        assertEquals(Color.RED, bottomBar.getTabAtPosition(2).getActiveColor());
+    }
+
+    private static TabSpec spec(int id, String title) {
+        return new TabSpec.Builder()
+                .id(id)
+                .iconResId(com.roughike.bottombar.test.R.drawable.empty_icon)
+                .title(title)
+                .build();
+    }
 }
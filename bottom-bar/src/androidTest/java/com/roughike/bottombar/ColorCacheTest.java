@@ -0,0 +1,64 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v4.content.ContextCompat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class ColorCacheTest {
+    private static final int INVALID = -1;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+        ColorCache.clear();
+    }
+
+    @Test
+    public void colorResource_ResolvedSameAsContextCompat() {
+        int colorRes = com.roughike.bottombar.test.R.color.test_random_color;
+        int expected = ContextCompat.getColor(context, colorRes);
+
+        assertEquals(expected, ColorCache.getColor(context, colorRes));
+        assertEquals(expected, ColorCache.getColor(context, colorRes));
+    }
+
+    @Test
+    public void literalColors_AreParsed() {
+        assertEquals(Color.RED, ColorCache.parseColor("#FF0000", INVALID));
+        assertEquals(Color.RED, ColorCache.parseColor("#FF0000", INVALID));
+        assertEquals(Color.BLUE, ColorCache.parseColor("blue", INVALID));
+    }
+
+    @Test
+    public void invalidLiterals_ReturnFallbackEveryTime() {
+        assertEquals(INVALID, ColorCache.parseColor("not a color", INVALID));
+        assertEquals(INVALID, ColorCache.parseColor("not a color", INVALID));
+        assertEquals(Color.GREEN, ColorCache.parseColor("not a color", Color.GREEN));
+        assertEquals(INVALID, ColorCache.parseColor(null, INVALID));
+    }
+
+    @Test
+    public void evictedLiterals_AreParsedAgain() {
+        for (int i = 0; i < 256; i++) {
+            int color = 0xFF000000 | i;
+            assertEquals(color, ColorCache.parseColor(String.format("#%08X", color), INVALID));
+            assertEquals(INVALID, ColorCache.parseColor("not a color " + i, INVALID));
+        }
+
+        assertEquals(0xFF000000, ColorCache.parseColor("#FF000000", INVALID));
+        assertEquals(INVALID, ColorCache.parseColor("not a color 0", INVALID));
+    }
+}
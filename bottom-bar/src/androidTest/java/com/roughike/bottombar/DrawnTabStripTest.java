@@ -0,0 +1,210 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(AndroidJUnit4.class)
+public class DrawnTabStripTest {
+    private static final int STRIP_WIDTH = 900;
+
+    private View.OnClickListener clickListener;
+    private DrawnTabStrip strip;
+    private BottomBarTab[] tabs;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getContext();
+        BottomBarTab.Config config = new BottomBarTab.Config.Builder()
+                .inActiveTabAlpha(0.6f)
+                .activeTabAlpha(1)
+                .inActiveTabColor(Color.GRAY)
+                .activeTabColor(Color.BLUE)
+                .badgeBackgroundColor(Color.RED)
+                .build();
+
+        tabs = new BottomBarTab[3];
+
+        for (int i = 0; i < tabs.length; i++) {
+            tabs[i] = new BottomBarTab(context);
+            tabs[i].setConfig(config);
+            tabs[i].setIndexInContainer(i);
+            tabs[i].setTitle("Tab " + i);
+            tabs[i].setIconResId(com.roughike.bottombar.test.R.drawable.empty_icon);
+            tabs[i].setType(BottomBarTab.Type.FIXED);
+        }
+
+        clickListener = mock(View.OnClickListener.class);
+
+        strip = new DrawnTabStrip(context);
+        strip.setTabClickListeners(clickListener, null);
+        strip.setTabs(tabs);
+        strip.measure(View.MeasureSpec.makeMeasureSpec(STRIP_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        strip.layout(0, 0, strip.getMeasuredWidth(), strip.getMeasuredHeight());
+    }
+
+    @Test
+    public void tabsAreNotInflatedOrAttached() {
+        assertEquals(3, strip.getTabCount());
+
+        for (BottomBarTab tab : tabs) {
+            assertTrue(tab.isDrawn());
+            assertNull(tab.getParent());
+            assertEquals(0, tab.getChildCount());
+        }
+    }
+
+    @Test
+    public void tabCenters_AreOrderedAndInsideStrip() {
+        int previousCenter = 0;
+
+        for (int i = 0; i < tabs.length; i++) {
+            int center = strip.getTabCenterX(i);
+
+            assertTrue(center > previousCenter);
+            assertTrue(center < STRIP_WIDTH);
+            previousCenter = center;
+        }
+    }
+
+    @Test
+    @UiThreadTest
+    public void tapOnTab_IsHitTestedByX() {
+        tap(strip.getTabCenterX(2));
+
+        verify(clickListener).onClick(tabs[2]);
+    }
+
+    @Test
+    @UiThreadTest
+    public void tapOutsideTabs_IsIgnored() {
+        strip.measure(View.MeasureSpec.makeMeasureSpec(STRIP_WIDTH * 4, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        strip.layout(0, 0, strip.getMeasuredWidth(), strip.getMeasuredHeight());
+
+        tap(1);
+
+        verifyZeroInteractions(clickListener);
+    }
+
+    @Test
+    @UiThreadTest
+    public void badgeCount_IsKeptWithoutBadgeView() {
+        tabs[1].setBadgeCount(7);
+
+        assertTrue(tabs[1].hasActiveBadge());
+        assertEquals(7, tabs[1].getDrawnBadgeCount());
+        assertNull(tabs[1].badge);
+
+        tabs[1].removeBadge();
+        assertFalse(tabs[1].hasActiveBadge());
+    }
+
+    @Test
+    @UiThreadTest
+    public void selectingTab_UpdatesHandles() {
+        tabs[0].select(false);
+        tabs[0].deselect(false);
+        tabs[2].select(false);
+
+        assertFalse(tabs[0].isActive());
+        assertTrue(tabs[2].isActive());
+        assertSame(tabs[2], strip.getTabAt(2));
+    }
+
+    @Test
+    @UiThreadTest
+    public void repeatedSelectionFrames_DoNotAllocate() {
+        Bitmap bitmap = Bitmap.createBitmap(STRIP_WIDTH, strip.getHeight(), Bitmap.Config.ARGB_8888);
+        final Canvas canvas = new Canvas(bitmap);
+
+        int allocations = AllocationCounter.countAllocations(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 20; i++) {
+                    strip.onTabSelected(tabs[i % tabs.length], true);
+
+                    for (int frame = 0; frame <= 10; frame++) {
+                        strip.setSelectionFraction(frame / 10f);
+                        strip.draw(canvas);
+                    }
+                }
+            }
+        });
+
+        bitmap.recycle();
+        assertEquals(0, allocations);
+    }
+
+    @Test
+    @UiThreadTest
+    public void rtlLayout_MirrorsTabPositions() {
+        int firstCenter = strip.getTabCenterX(0);
+        int lastCenter = strip.getTabCenterX(2);
+
+        strip.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+
+        assertEquals(lastCenter, strip.getTabCenterX(0));
+        assertEquals(firstCenter, strip.getTabCenterX(2));
+    }
+
+    @Test
+    @UiThreadTest
+    public void accessibilityClick_GoesToTheClickListener() {
+        AccessibilityNodeProvider provider = strip.getAccessibilityNodeProvider();
+
+        assertTrue(provider.performAction(1, AccessibilityNodeInfo.ACTION_CLICK, null));
+        verify(clickListener).onClick(tabs[1]);
+    }
+
+    @Test
+    @UiThreadTest
+    public void accessibilityNode_DescribesTheTab() {
+        tabs[1].setBadgeCount(3);
+        tabs[1].select(false);
+
+        AccessibilityNodeInfo node = strip.getAccessibilityNodeProvider().createAccessibilityNodeInfo(1);
+
+        assertEquals("Tab 1", node.getText().toString());
+        assertTrue(node.getContentDescription().toString().contains("3"));
+        assertTrue(node.isSelected());
+        assertTrue(node.isClickable());
+    }
+
+    private void tap(float x) {
+        long now = SystemClock.uptimeMillis();
+        float y = strip.getHeight() / 2f;
+
+        MotionEvent down = MotionEvent.obtain(now, now, MotionEvent.ACTION_DOWN, x, y, 0);
+        MotionEvent up = MotionEvent.obtain(now, now + 10, MotionEvent.ACTION_UP, x, y, 0);
+
+        strip.onTouchEvent(down);
+        strip.onTouchEvent(up);
+
+        down.recycle();
+        up.recycle();
+    }
+}
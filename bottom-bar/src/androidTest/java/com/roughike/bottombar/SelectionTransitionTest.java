@@ -0,0 +1,115 @@
+package com.roughike.bottombar;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class SelectionTransitionTest {
+    private BottomBarTab first;
+    private BottomBarTab second;
+    private BottomBarTab third;
+
+    private SelectionTransition transition;
+    private int endCount;
+    private float lastProgress;
+
+    @Before
+    public void setUp() {
+        BottomBar bottomBar = new BottomBar(InstrumentationRegistry.getContext());
+        bottomBar.setItems(com.roughike.bottombar.test.R.xml.dummy_tabs_three);
+
+        first = bottomBar.getTabAtPosition(0);
+        second = bottomBar.getTabAtPosition(1);
+        third = bottomBar.getTabAtPosition(2);
+
+        transition = new SelectionTransition(new SelectionTransition.Listener() {
+            @Override
+            public void onTransitionProgress(float fraction) {
+                lastProgress = fraction;
+            }
+
+            @Override
+            public void onTransitionEnd() {
+                endCount++;
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void cancel_SettlesEverythingInTheTargetState() {
+        first.deselect(true);
+        second.select(true);
+        transition.start(first, second);
+
+        assertTrue(transition.isRunning());
+        transition.cancel();
+
+        assertFalse(transition.isRunning());
+        assertEquals(1, transition.getProgress(), 0);
+        assertEquals(1, endCount);
+        assertEquals(first.getInActiveColor(), first.getCurrentDisplayedIconColor());
+        assertEquals(second.getActiveColor(), second.getCurrentDisplayedIconColor());
+    }
+
+    @Test
+    @UiThreadTest
+    public void retargeting_KeepsOneTimelineForAllTabs() {
+        first.deselect(true);
+        second.select(true);
+        transition.start(first, second);
+
+        second.deselect(true);
+        third.select(true);
+        transition.start(second, third);
+
+        assertTrue(transition.isRunning());
+        assertEquals(0, endCount);
+
+        transition.cancel();
+
+        assertEquals(1, endCount);
+        assertEquals(first.getInActiveColor(), first.getCurrentDisplayedIconColor());
+        assertEquals(second.getInActiveColor(), second.getCurrentDisplayedIconColor());
+        assertEquals(third.getActiveColor(), third.getCurrentDisplayedIconColor());
+    }
+
+    @Test
+    @UiThreadTest
+    public void cancelWithoutTransition_DoesNothing() {
+        transition.cancel();
+
+        assertFalse(transition.isRunning());
+        assertEquals(0, endCount);
+        assertEquals(0, lastProgress, 0);
+    }
+
+    @Test
+    @UiThreadTest
+    public void viewsWithoutHardwareAcceleration_GetNoLayers() {
+        first.deselect(true);
+        second.select(true);
+        transition.start(first, second);
+
+        assertEquals(0, transition.getHardwareLayerCount());
+        assertEquals(View.LAYER_TYPE_NONE, second.getIconView().getLayerType());
+    }
+
+    @Test
+    @UiThreadTest
+    public void disablingLayers_IsRemembered() {
+        transition.setHardwareLayersEnabled(false);
+
+        assertFalse(transition.isHardwareLayersEnabled());
+    }
+}
@@ -18,22 +18,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(AndroidJUnit4.class)
 @LargeTest
 public class TabParserTest {
     private Context context;
-    private List<BottomBarTab> tabs;
+    private List<TabSpec> tabs;
 
     @Before
     public void setUp() throws Exception {
         context = InstrumentationRegistry.getContext();
-        tabs = new TabParser(
-                context,
-                new BottomBarTab.Config.Builder().build(),
-                com.roughike.bottombar.test.R.xml.dummy_tabs_five
-        ).parseTabs();
+        tabs = new TabParser(context, com.roughike.bottombar.test.R.xml.dummy_tabs_five).parseTabs();
     }
 
     @Test
@@ -61,25 +58,25 @@ public class TabParserTest {
 
     @Test
     public void correctInActiveColors() {
-        assertEquals(Color.parseColor("#00FF00"), tabs.get(0).getInActiveColor());
-        assertEquals(Color.parseColor("#0000FF"), tabs.get(1).getInActiveColor());
-        assertEquals(Color.parseColor("#FF0000"), tabs.get(2).getInActiveColor());
-        assertEquals(Color.parseColor("#F0F000"), tabs.get(3).getInActiveColor());
-        assertEquals(Color.parseColor("#F00F00"), tabs.get(4).getInActiveColor());
+        assertEquals(Color.parseColor("#00FF00"), (int) tabs.get(0).getInActiveColor());
+        assertEquals(Color.parseColor("#0000FF"), (int) tabs.get(1).getInActiveColor());
+        assertEquals(Color.parseColor("#FF0000"), (int) tabs.get(2).getInActiveColor());
+        assertEquals(Color.parseColor("#F0F000"), (int) tabs.get(3).getInActiveColor());
+        assertEquals(Color.parseColor("#F00F00"), (int) tabs.get(4).getInActiveColor());
     }
 
     @Test
     public void correctActiveColors() {
-        assertEquals(Color.parseColor("#FF0000"), tabs.get(0).getActiveColor());
+        assertEquals(Color.parseColor("#FF0000"), (int) tabs.get(0).getActiveColor());
 
         assertEquals(
                 ContextCompat.getColor(context, com.roughike.bottombar.test.R.color.test_random_color),
-                tabs.get(1).getActiveColor()
+                (int) tabs.get(1).getActiveColor()
         );
 
-        assertEquals(Color.parseColor("#0000FF"), tabs.get(2).getActiveColor());
-        assertEquals(Color.parseColor("#DAD666"), tabs.get(3).getActiveColor());
-        assertEquals(Color.parseColor("#F00F00"), tabs.get(4).getActiveColor());
+        assertEquals(Color.parseColor("#0000FF"), (int) tabs.get(2).getActiveColor());
+        assertEquals(Color.parseColor("#DAD666"), (int) tabs.get(3).getActiveColor());
+        assertEquals(Color.parseColor("#F00F00"), (int) tabs.get(4).getActiveColor());
     }
 
     @Test
@@ -104,29 +101,29 @@ public class TabParserTest {
 
     @Test
     public void barColorWhenSelectedAsExpected() {
-        assertEquals(Color.parseColor("#FF0000"), tabs.get(0).getBarColorWhenSelected());
-        assertEquals(Color.parseColor("#00FF00"), tabs.get(1).getBarColorWhenSelected());
-        assertEquals(Color.parseColor("#F00000"), tabs.get(2).getBarColorWhenSelected());
-        assertEquals(Color.parseColor("#00F000"), tabs.get(3).getBarColorWhenSelected());
-        assertEquals(Color.parseColor("#00F0F0"), tabs.get(4).getBarColorWhenSelected());
+        assertEquals(Color.parseColor("#FF0000"), (int) tabs.get(0).getBarColorWhenSelected());
+        assertEquals(Color.parseColor("#00FF00"), (int) tabs.get(1).getBarColorWhenSelected());
+        assertEquals(Color.parseColor("#F00000"), (int) tabs.get(2).getBarColorWhenSelected());
+        assertEquals(Color.parseColor("#00F000"), (int) tabs.get(3).getBarColorWhenSelected());
+        assertEquals(Color.parseColor("#00F0F0"), (int) tabs.get(4).getBarColorWhenSelected());
     }
 
     @Test
     public void badgeBackgroundColorAsExpected() {
-        assertEquals(Color.parseColor("#FF0000"), tabs.get(0).getBadgeBackgroundColor());
-        assertEquals(Color.parseColor("#00FF00"), tabs.get(1).getBadgeBackgroundColor());
-        assertEquals(Color.parseColor("#F00000"), tabs.get(2).getBadgeBackgroundColor());
-        assertEquals(Color.parseColor("#00F000"), tabs.get(3).getBadgeBackgroundColor());
-        assertEquals(Color.parseColor("#00F0F0"), tabs.get(4).getBadgeBackgroundColor());
+        assertEquals(Color.parseColor("#FF0000"), (int) tabs.get(0).getBadgeBackgroundColor());
+        assertEquals(Color.parseColor("#00FF00"), (int) tabs.get(1).getBadgeBackgroundColor());
+        assertEquals(Color.parseColor("#F00000"), (int) tabs.get(2).getBadgeBackgroundColor());
+        assertEquals(Color.parseColor("#00F000"), (int) tabs.get(3).getBadgeBackgroundColor());
+        assertEquals(Color.parseColor("#00F0F0"), (int) tabs.get(4).getBadgeBackgroundColor());
     }
 
     @Test
     public void correctBadgeHidingPolicies() {
         assertFalse(tabs.get(0).getBadgeHidesWhenActive());
-        assertTrue(tabs.get(1).getBadgeHidesWhenActive());
+        assertNull(tabs.get(1).getBadgeHidesWhenActive());
         assertFalse(tabs.get(2).getBadgeHidesWhenActive());
         assertTrue(tabs.get(3).getBadgeHidesWhenActive());
-        assertTrue(tabs.get(4).getBadgeHidesWhenActive());
+        assertNull(tabs.get(4).getBadgeHidesWhenActive());
     }
 
     @Test
@@ -138,6 +135,14 @@ public class TabParserTest {
         assertTrue(tabs.get(4).isTitleless());
     }
 
+    @Test
+    public void parsingTwice_ProducesEqualSpecs() {
+        List<TabSpec> secondParse = new TabParser(
+                context, com.roughike.bottombar.test.R.xml.dummy_tabs_five).parseTabs();
+
+        assertEquals(tabs, secondParse);
+    }
+
     private Drawable getDrawableByResource(int iconResId) {
         return ContextCompat.getDrawable(context, iconResId);
     }
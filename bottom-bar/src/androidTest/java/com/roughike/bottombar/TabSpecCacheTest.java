@@ -0,0 +1,84 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.filters.SdkSuppress;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.ContextThemeWrapper;
+
+import com.roughike.bottombar.test.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class TabSpecCacheTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+        TabSpecCache.clear();
+    }
+
+    @Test
+    public void sameResource_IsOnlyParsedOnce() {
+        List<TabSpec> tabs = TabSpecCache.get(context, R.xml.dummy_tabs_five);
+
+        assertSame(tabs, TabSpecCache.get(context, R.xml.dummy_tabs_five));
+    }
+
+    @Test
+    public void differentResources_AreCachedSeparately() {
+        List<TabSpec> fiveTabs = TabSpecCache.get(context, R.xml.dummy_tabs_five);
+        List<TabSpec> threeTabs = TabSpecCache.get(context, R.xml.dummy_tabs_three);
+
+        assertEquals(5, fiveTabs.size());
+        assertEquals(3, threeTabs.size());
+        assertSame(fiveTabs, TabSpecCache.get(context, R.xml.dummy_tabs_five));
+    }
+
+    @Test
+    @SdkSuppress(minSdkVersion = Build.VERSION_CODES.JELLY_BEAN_MR1)
+    public void configurationChange_ParsesAgain() {
+        List<TabSpec> tabs = TabSpecCache.get(context, R.xml.dummy_tabs_five);
+
+        Configuration configuration = new Configuration(context.getResources().getConfiguration());
+        configuration.setLocale(Locale.JAPANESE.equals(configuration.locale) ? Locale.GERMAN : Locale.JAPANESE);
+        Context otherLocale = context.createConfigurationContext(configuration);
+
+        assertNotSame(tabs, TabSpecCache.get(otherLocale, R.xml.dummy_tabs_five));
+    }
+
+    @Test
+    public void plainColors_AreReusedInOtherThemes() {
+        Context first = new ContextThemeWrapper(context, android.R.style.Theme_DeviceDefault);
+        Context second = new ContextThemeWrapper(context, android.R.style.Theme_DeviceDefault);
+
+        assertSame(TabSpecCache.get(first, R.xml.dummy_tabs_five),
+                TabSpecCache.get(second, R.xml.dummy_tabs_five));
+    }
+
+    @Test
+    public void colorStateLists_AreOnlyReusedInTheSameTheme() {
+        Context first = new ContextThemeWrapper(context, android.R.style.Theme_DeviceDefault);
+        Context second = new ContextThemeWrapper(context, android.R.style.Theme_DeviceDefault);
+
+        List<TabSpec> tabs = TabSpecCache.get(first, R.xml.dummy_tabs_themed);
+
+        assertSame(tabs, TabSpecCache.get(first, R.xml.dummy_tabs_themed));
+        assertNotSame(tabs, TabSpecCache.get(second, R.xml.dummy_tabs_themed));
+    }
+}
@@ -0,0 +1,116 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class TabStripLayoutTest {
+    private static final int STRIP_WIDTH = 900;
+
+    private TabStripLayout strip;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getContext();
+        strip = new TabStripLayout(context);
+
+        for (int i = 0; i < 3; i++) {
+            strip.addView(new View(context));
+        }
+    }
+
+    @Test
+    @UiThreadTest
+    public void fixedMode_AllTabsGetSameWidth() {
+        layout();
+
+        int width = strip.getChildAt(0).getWidth();
+        assertEquals(width, strip.getChildAt(1).getWidth());
+        assertEquals(width, strip.getChildAt(2).getWidth());
+        assertTrue(width * 3 <= STRIP_WIDTH);
+    }
+
+    @Test
+    @UiThreadTest
+    public void shiftingMode_SelectedTabIsWider() {
+        strip.setShifting(true);
+        strip.setSelectedIndex(1, false);
+        layout();
+
+        assertTrue(strip.getChildAt(1).getWidth() > strip.getChildAt(0).getWidth());
+        assertEquals(strip.getChildAt(0).getWidth(), strip.getChildAt(2).getWidth());
+    }
+
+    @Test
+    @UiThreadTest
+    public void shiftingMode_TabsAreCentered() {
+        strip.setShifting(true);
+        layout();
+
+        int left = strip.getChildAt(0).getLeft();
+        int right = STRIP_WIDTH - strip.getChildAt(2).getRight();
+        assertTrue(Math.abs(left - right) <= 1);
+    }
+
+    @Test
+    @UiThreadTest
+    public void padding_TabsAreLaidOutWithinIt() {
+        strip.setPadding(100, 0, 20, 0);
+        layout();
+
+        assertTrue(strip.getChildAt(0).getLeft() >= 100);
+        assertTrue(strip.getChildAt(2).getRight() <= STRIP_WIDTH - 20);
+    }
+
+    @Test
+    @UiThreadTest
+    public void rtlLayout_FirstTabIsOnTheRight() {
+        layout();
+        int firstLeft = strip.getChildAt(0).getLeft();
+        int lastLeft = strip.getChildAt(2).getLeft();
+
+        strip.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+        layout();
+
+        assertEquals(lastLeft, strip.getChildAt(0).getLeft());
+        assertEquals(firstLeft, strip.getChildAt(2).getLeft());
+    }
+
+    @Test
+    @UiThreadTest
+    public void animatedSelection_LaysOutFinalWidthsAndSlidesWithTranslation() {
+        strip.setShifting(true);
+        strip.setSelectedIndex(0, false);
+        layout();
+        int activeWidth = strip.getChildAt(0).getWidth();
+
+        strip.setSelectedIndex(2, true);
+        layout();
+
+        assertEquals(activeWidth, strip.getChildAt(2).getWidth());
+        assertTrue(strip.getChildAt(1).getTranslationX() != 0);
+
+        strip.setSelectionFraction(1);
+        assertEquals(0, strip.getChildAt(1).getTranslationX(), 0);
+    }
+
+    private void layout() {
+        int height = strip.getResources().getDimensionPixelSize(R.dimen.bb_height);
+
+        strip.measure(
+                View.MeasureSpec.makeMeasureSpec(STRIP_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+        );
+        strip.layout(0, 0, STRIP_WIDTH, height);
+    }
+}
@@ -0,0 +1,59 @@
+package com.roughike.bottombar;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class TransitionFrameMonitorTest {
+    private TransitionFrameMonitor monitor;
+
+    private int reportCount;
+    private int reportedFromTabId;
+    private int reportedToTabId;
+    private int reportedFrameCount;
+
+    @Before
+    public void setUp() {
+        AnimationPolicy policy = new AnimationPolicy(InstrumentationRegistry.getContext());
+        monitor = new TransitionFrameMonitor(InstrumentationRegistry.getContext(), policy,
+                new BottomBarMetrics());
+        monitor.setListener(new OnTransitionFramesListener() {
+            @Override
+            public void onTransitionFrames(int fromTabId, int toTabId,
+                                           int frameCount, int slowFrameCount, long worstFrameNanos) {
+                reportCount++;
+                reportedFromTabId = fromTabId;
+                reportedToTabId = toTabId;
+                reportedFrameCount = frameCount;
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void interruptedTransition_IsReportedWhenTheNextOneStarts() {
+        monitor.start(1, 2);
+        monitor.start(2, 3);
+
+        assertEquals(1, reportCount);
+        assertEquals(1, reportedFromTabId);
+        assertEquals(2, reportedToTabId);
+        assertEquals(0, reportedFrameCount);
+    }
+
+    @Test
+    @UiThreadTest
+    public void nothingIsReportedBeforeAFrame() {
+        monitor.start(1, 2);
+        monitor.onTransitionEnd();
+
+        assertEquals(0, reportCount);
+    }
+}
@@ -0,0 +1,94 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class TypefaceCacheTest {
+    private static final String FONT_PATH = "fonts/GreatVibes-Regular.otf";
+
+    private Context context;
+
+    private Typeface loadedTypeface;
+    private int loadCount;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getTargetContext();
+        TypefaceCache.clear();
+    }
+
+    @Test
+    public void offMainThread_LoadsRightAway_AndCachesTheTypeface() {
+        TypefaceCache.load(context, FONT_PATH, new RecordingCallback());
+        Typeface first = loadedTypeface;
+
+        TypefaceCache.load(context, FONT_PATH, new RecordingCallback());
+
+        assertNotNull(first);
+        assertEquals(2, loadCount);
+        assertSame(first, loadedTypeface);
+        assertSame(first, TypefaceCache.getCached(FONT_PATH));
+    }
+
+    @Test
+    public void missingFont_DoesNotCallBack() {
+        TypefaceCache.load(context, "fonts/missing.ttf", new RecordingCallback());
+
+        assertEquals(0, loadCount);
+        assertNull(TypefaceCache.getCached("fonts/missing.ttf"));
+    }
+
+    @Test
+    public void onMainThread_LoadsInBackground_AndCallsBackOnMainThread() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final boolean[] calledOnMainThread = new boolean[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 2; i++) {
+                    final int index = i;
+
+                    TypefaceCache.load(context, FONT_PATH, new TypefaceCache.Callback() {
+                        @Override
+                        public void onTypefaceLoaded(@NonNull Typeface typeface) {
+                            calledOnMainThread[index] = Looper.myLooper() == Looper.getMainLooper();
+                            latch.countDown();
+                        }
+                    });
+                }
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(calledOnMainThread[0]);
+        assertTrue(calledOnMainThread[1]);
+        assertNotNull(TypefaceCache.getCached(FONT_PATH));
+    }
+
+    private class RecordingCallback implements TypefaceCache.Callback {
+        @Override
+        public void onTypefaceLoaded(@NonNull Typeface typeface) {
+            loadedTypeface = typeface;
+            loadCount++;
+        }
+    }
+}
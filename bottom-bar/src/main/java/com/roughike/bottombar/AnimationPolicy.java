@@ -0,0 +1,229 @@
+package com.roughike.bottombar;
+
+import android.content.BroadcastReceiver;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.provider.Settings;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.support.annotation.VisibleForTesting;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Decides how richly a BottomBar animates selection changes.
+ * <p>
+ * Starts at {@link BottomBar.AnimationLevel#REVEAL} and steps down one level
+ * whenever several transitions in a row drop too many frames, as measured by
+ * the {@link TransitionFrameMonitor} of the BottomBar. After a longer run of
+ * smooth transitions it steps back up one level, so a few slow moments don't
+ * downgrade the BottomBar for good.
+ * Independent of that, power save mode caps the level at
+ * {@link BottomBar.AnimationLevel#CROSSFADE}, and an animator duration scale of 0
+ * turns animations off entirely.
+ * <p>
+ * Both system settings are cached while the BottomBar is attached, and updated
+ * when they change, so picking a level doesn't query the system on every click.
+ * Must only be used from the main thread.
+ */
+final class AnimationPolicy {
+    /**
+     * A transition is janky when at least this share of its frames was slow.
+     */
+    private static final float JANKY_TRANSITION_RATIO = 0.25f;
+
+    private static final int JANKY_TRANSITIONS_TO_STEP_DOWN = 2;
+    private static final int SMOOTH_TRANSITIONS_TO_STEP_UP = 10;
+
+    private final Context context;
+
+    private final ContentObserver animatorScaleObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+        @Override
+        public void onChange(boolean selfChange) {
+            animatorDurationScale = readAnimatorDurationScale();
+        }
+    };
+
+    private final BroadcastReceiver powerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            isPowerSaveMode = readPowerSaveMode();
+        }
+    };
+
+    private boolean isListening;
+    private float animatorDurationScale;
+    private boolean isPowerSaveMode;
+
+    private BottomBar.AnimationLevel jankLevel = BottomBar.AnimationLevel.REVEAL;
+    private int jankyTransitionsInRow;
+    private int smoothTransitionsInRow;
+
+    AnimationPolicy(@NonNull Context context) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+    }
+
+    /**
+     * Returns the level the next selection change should animate with.
+     */
+    @NonNull
+    BottomBar.AnimationLevel getLevel() {
+        if (!isListening) {
+            animatorDurationScale = readAnimatorDurationScale();
+            isPowerSaveMode = readPowerSaveMode();
+        }
+
+        if (animatorDurationScale == 0) {
+            return BottomBar.AnimationLevel.INSTANT;
+        }
+
+        if (isPowerSaveMode) {
+            return lowerOf(jankLevel, BottomBar.AnimationLevel.CROSSFADE);
+        }
+
+        return jankLevel;
+    }
+
+    /**
+     * Returns the level allowed by the measured frame times alone.
+     */
+    @VisibleForTesting
+    @NonNull
+    BottomBar.AnimationLevel getJankLevel() {
+        return jankLevel;
+    }
+
+    /**
+     * Starts caching the system settings. Called when the BottomBar is attached.
+     */
+    void startListening() {
+        if (isListening) {
+            return;
+        }
+
+        context.getContentResolver().registerContentObserver(
+                getAnimatorDurationScaleUri(), false, animatorScaleObserver);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            registerPowerSaveReceiver();
+        }
+
+        animatorDurationScale = readAnimatorDurationScale();
+        isPowerSaveMode = readPowerSaveMode();
+        isListening = true;
+    }
+
+    /**
+     * Stops caching the system settings. Called when the BottomBar is detached.
+     */
+    void stopListening() {
+        if (!isListening) {
+            return;
+        }
+
+        context.getContentResolver().unregisterContentObserver(animatorScaleObserver);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            context.unregisterReceiver(powerSaveReceiver);
+        }
+
+        isListening = false;
+    }
+
+    @VisibleForTesting
+    boolean isListening() {
+        return isListening;
+    }
+
+    @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
+    private void registerPowerSaveReceiver() {
+        context.registerReceiver(powerSaveReceiver,
+                new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Uri getAnimatorDurationScaleUri() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            return Settings.Global.getUriFor(Settings.Global.ANIMATOR_DURATION_SCALE);
+        }
+
+        return Settings.System.getUriFor(Settings.System.ANIMATOR_DURATION_SCALE);
+    }
+
+    @SuppressWarnings("deprecation")
+    private float readAnimatorDurationScale() {
+        ContentResolver resolver = context.getContentResolver();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            return Settings.Global.getFloat(resolver, Settings.Global.ANIMATOR_DURATION_SCALE, 1);
+        }
+
+        return Settings.System.getFloat(resolver, Settings.System.ANIMATOR_DURATION_SCALE, 1);
+    }
+
+    private boolean readPowerSaveMode() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return false;
+        }
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null && powerManager.isPowerSaveMode();
+    }
+
+    private static BottomBar.AnimationLevel lowerOf(BottomBar.AnimationLevel a, BottomBar.AnimationLevel b) {
+        return a.ordinal() >= b.ordinal() ? a : b;
+    }
+
+    /**
+     * Called by the {@link TransitionFrameMonitor} with the frames of every
+     * selection change. Changes without timed frames, such as instant ones,
+     * count as smooth.
+     */
+    void onTransitionMeasured(int frames, int slowFrames) {
+        if (frames == 0 || slowFrames < frames * JANKY_TRANSITION_RATIO) {
+            jankyTransitionsInRow = 0;
+            smoothTransitionsInRow++;
+
+            if (smoothTransitionsInRow >= SMOOTH_TRANSITIONS_TO_STEP_UP
+                    && jankLevel != BottomBar.AnimationLevel.REVEAL) {
+                jankLevel = BottomBar.AnimationLevel.values()[jankLevel.ordinal() - 1];
+                smoothTransitionsInRow = 0;
+            }
+
+            return;
+        }
+
+        smoothTransitionsInRow = 0;
+        jankyTransitionsInRow++;
+
+        if (jankyTransitionsInRow >= JANKY_TRANSITIONS_TO_STEP_DOWN
+                && jankLevel != BottomBar.AnimationLevel.INSTANT) {
+            jankLevel = BottomBar.AnimationLevel.values()[jankLevel.ordinal() + 1];
+            jankyTransitionsInRow = 0;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.roughike.bottombar;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.XmlRes;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Builds a {@link BottomBar} with all of its tabs on a background thread.
+ * <p>
+ * Resolving the attributes, parsing the tab XML, loading the icons and creating
+ * the tab views all happen on the given {@link Executor}, while the views are still
+ * detached. The finished BottomBar is handed to the {@link Callback} on the main
+ * thread, ready to be added to a parent.
+ * <p>
+ * Call {@link Task#cancel()} when the host goes away, for example in
+ * {@code onDestroy()}. The callback is also never called once the hosting
+ * Activity is finishing.
+ */
+public class AsyncBottomBarBuilder {
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @LayoutRes
+    private int layoutRes;
+
+    @Nullable
+    private ViewGroup parent;
+
+    @XmlRes
+    private int tabXmlResource;
+
+    @Nullable
+    private List<TabSpec> tabSpecs;
+
+    @Nullable
+    private BottomBarTab.Config tabConfig;
+
+    private Executor executor = AsyncTask.THREAD_POOL_EXECUTOR;
+
+    public AsyncBottomBarBuilder(@NonNull Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Inflate the BottomBar from a layout resource whose root is a BottomBar,
+     * so it can be styled with the usual XML attributes. The optional parent is
+     * only used for generating the layout params, the BottomBar isn't added to it.
+     */
+    public AsyncBottomBarBuilder layout(@LayoutRes int layoutRes, @Nullable ViewGroup parent) {
+        this.layoutRes = layoutRes;
+        this.parent = parent;
+        return this;
+    }
+
+    /**
+     * Set the items from a tab XML resource.
+     */
+    public AsyncBottomBarBuilder items(@XmlRes int xmlRes) {
+        this.tabXmlResource = xmlRes;
+        this.tabSpecs = null;
+        return this;
+    }
+
+    /**
+     * Set the items from a list of {@link TabSpec}s.
+     */
+    public AsyncBottomBarBuilder items(@NonNull List<TabSpec> tabSpecs) {
+        this.tabSpecs = tabSpecs;
+        this.tabXmlResource = 0;
+        return this;
+    }
+
+    /**
+     * Set the default configuration for each tab.
+     */
+    public AsyncBottomBarBuilder tabConfig(@Nullable BottomBarTab.Config tabConfig) {
+        this.tabConfig = tabConfig;
+        return this;
+    }
+
+    /**
+     * Set the executor the BottomBar is built on. Defaults to
+     * {@link AsyncTask#THREAD_POOL_EXECUTOR}.
+     */
+    public AsyncBottomBarBuilder executor(@NonNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Start building the BottomBar in the background.
+     *
+     * @param callback called on the main thread with the result.
+     * @return a task that can be used for cancelling the build.
+     */
+    @MainThread
+    public Task build(@NonNull Callback callback) {
+        Task task = new Task(this, callback);
+        executor.execute(task);
+        return task;
+    }
+
+    private BottomBar createBottomBar() {
+        if (layoutRes == 0) {
+            return new BottomBar(context);
+        }
+
+        View view = LayoutInflater.from(context).inflate(layoutRes, parent, false);
+
+        if (!(view instanceof BottomBar)) {
+            throw new IllegalArgumentException("The root of the layout given to " +
+                    "AsyncBottomBarBuilder must be a BottomBar.");
+        }
+
+        return (BottomBar) view;
+    }
+
+    public interface Callback {
+        /**
+         * Called on the main thread when the BottomBar is ready to be added to a parent.
+         */
+        void onBottomBarReady(@NonNull BottomBar bottomBar);
+
+        /**
+         * Called on the main thread if building the BottomBar failed.
+         */
+        void onBottomBarFailed(@NonNull RuntimeException exception);
+    }
+
+    /**
+     * A pending build of a BottomBar.
+     */
+    public static final class Task implements Runnable {
+        private final AsyncBottomBarBuilder builder;
+        private final Callback callback;
+
+        private volatile boolean isCancelled;
+
+        private Task(AsyncBottomBarBuilder builder, Callback callback) {
+            this.builder = builder;
+            this.callback = callback;
+        }
+
+        /**
+         * Stop the build. Any remaining work is skipped and the callback
+         * won't be called, even if the BottomBar was already built.
+         */
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled) {
+                return;
+            }
+
+            final BottomBar bottomBar;
+
+            try {
+                bottomBar = builder.createBottomBar();
+
+                if (isCancelled) {
+                    return;
+                }
+
+                List<TabSpec> specs = builder.tabSpecs;
+
+                if (specs == null && builder.tabXmlResource != 0) {
+                    specs = TabSpecCache.get(builder.context, builder.tabXmlResource);
+                }
+
+                if (isCancelled) {
+                    return;
+                }
+
+                if (specs != null) {
+                    bottomBar.setItems(specs, builder.tabConfig);
+                }
+            } catch (final RuntimeException e) {
+                deliver(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onBottomBarFailed(e);
+                    }
+                });
+                return;
+            }
+
+            deliver(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onBottomBarReady(bottomBar);
+                }
+            });
+        }
+
+        private void deliver(final Runnable result) {
+            builder.mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (isCancelled || isHostFinishing()) {
+                        return;
+                    }
+
+                    result.run();
+                }
+            });
+        }
+
+        private boolean isHostFinishing() {
+            return builder.context instanceof Activity
+                    && ((Activity) builder.context).isFinishing();
+        }
+    }
+}
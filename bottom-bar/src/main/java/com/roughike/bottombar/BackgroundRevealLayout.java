@@ -0,0 +1,132 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.widget.FrameLayout;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The container behind the tabs of a BottomBar, which also draws the circular
+ * reveal of a new bar color.
+ * <p>
+ * The reveal is a circle drawn over the current background color, below the
+ * tabs, so no extra overlay view is needed. Its size follows a fraction that's
+ * driven by the {@link SelectionTransition} of the BottomBar, which makes it
+ * look the same on every API level. A cheaper crossfade can be used instead,
+ * which fades the new color in over the whole container.
+ */
+class BackgroundRevealLayout extends FrameLayout {
+    private final Paint revealPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private boolean isRevealing;
+    private boolean isCrossfade;
+    private int revealColor;
+    private int centerX;
+    private int centerY;
+    private float revealFraction;
+
+    public BackgroundRevealLayout(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public BackgroundRevealLayout(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    /**
+     * Starts revealing the given color from the given point. A reveal that's
+     * still running is finished first, so its color becomes the background.
+     */
+    void startReveal(int centerX, int centerY, @ColorInt int color) {
+        start(color, false);
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    /**
+     * Like {@link #startReveal(int, int, int)}, but fades the color in instead.
+     */
+    void startCrossfade(@ColorInt int color) {
+        start(color, true);
+    }
+
+    private void start(@ColorInt int color, boolean crossfade) {
+        finishReveal();
+
+        revealColor = color;
+        revealPaint.setColor(color);
+        revealFraction = 0;
+        isCrossfade = crossfade;
+        isRevealing = true;
+        invalidate();
+    }
+
+    /**
+     * Sets how far the reveal has grown. It never shrinks, so a selection
+     * transition that starts over doesn't hide the color again.
+     */
+    void setRevealFraction(float fraction) {
+        if (!isRevealing || fraction <= revealFraction) {
+            return;
+        }
+
+        revealFraction = fraction;
+        invalidate();
+    }
+
+    void finishReveal() {
+        if (!isRevealing) {
+            return;
+        }
+
+        isRevealing = false;
+        setBackgroundColor(revealColor);
+    }
+
+    boolean isRevealing() {
+        return isRevealing;
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (isRevealing && revealFraction > 0) {
+            if (isCrossfade) {
+                revealPaint.setAlpha(Math.round(Color.alpha(revealColor) * revealFraction));
+                canvas.drawRect(0, 0, getWidth(), getHeight(), revealPaint);
+            } else {
+                canvas.drawCircle(centerX, centerY, getFinalRadius() * revealFraction, revealPaint);
+            }
+        }
+
+        super.dispatchDraw(canvas);
+    }
+
+    private float getFinalRadius() {
+        float dx = Math.max(centerX, getWidth() - centerX);
+        float dy = Math.max(centerY, getHeight() - centerY);
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -17,11 +17,13 @@
 
 package com.roughike.bottombar;
 
+import android.graphics.drawable.Drawable;
 import android.graphics.drawable.ShapeDrawable;
 import android.graphics.drawable.shapes.OvalShape;
 import android.support.annotation.ColorInt;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
+import android.util.LruCache;
 
 /*
  * BottomBar library for Android
@@ -40,8 +42,14 @@ import android.support.annotation.NonNull;
  * limitations under the License.
  */
 class BadgeCircle {
+    private static final int MAX_STATES = 16;
+
+    private static final LruCache<Long, Drawable.ConstantState> STATES = new LruCache<>(MAX_STATES);
+
     /**
-     * Creates a new circle for the Badge background.
+     * Creates a new circle for the Badge background. Circles with the same
+     * size and color are created from the same cached state, then mutated, so
+     * fading one badge doesn't change the alpha of the others.
      *
      * @param size  the width and height for the circle
      * @param color the activeIconColor for the circle
@@ -49,10 +57,18 @@ class BadgeCircle {
      */
     @NonNull
     static ShapeDrawable make(@IntRange(from = 0) int size, @ColorInt int color) {
+        long key = ((long) size << 32) | (color & 0xFFFFFFFFL);
+        Drawable.ConstantState state = STATES.get(key);
+
+        if (state != null) {
+            return (ShapeDrawable) state.newDrawable().mutate();
+        }
+
         ShapeDrawable indicator = new ShapeDrawable(new OvalShape());
         indicator.setIntrinsicWidth(size);
         indicator.setIntrinsicHeight(size);
         indicator.getPaint().setColor(color);
-        return indicator;
+        STATES.put(key, indicator.getConstantState());
+        return (ShapeDrawable) indicator.mutate();
     }
 }
@@ -1,14 +0,0 @@
-package com.roughike.bottombar;
-
-import android.content.Context;
-import android.support.annotation.NonNull;
-import android.widget.FrameLayout;
-
-/**
- * Created by iiro on 29.8.2016.
- */
-public class BadgeContainer extends FrameLayout {
-    public BadgeContainer(@NonNull Context context) {
-        super(context);
-    }
-}
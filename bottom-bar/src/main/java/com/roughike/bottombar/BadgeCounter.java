@@ -0,0 +1,120 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.IdRes;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A thread-safe handle to the badge count of a single tab.
+ * <p>
+ * Any thread can change the count without locks or allocations. The BottomBar
+ * picks up changed counters on the main thread and shows their latest values
+ * on the next frame, so a burst of changes results in a single badge update.
+ * Get one with {@link BottomBar#getBadgeCounter(int)}.
+ */
+public final class BadgeCounter {
+    interface OnDirtyListener {
+        /**
+         * Called on the thread that changed the counter, when it changes for the
+         * first time since its value was last picked up.
+         */
+        void onCounterDirty();
+    }
+
+    @IdRes
+    private final int tabId;
+    private final OnDirtyListener listener;
+    private final AtomicInteger count;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    BadgeCounter(@IdRes int tabId, int initialCount, @NonNull OnDirtyListener listener) {
+        this.tabId = tabId;
+        this.listener = listener;
+        this.count = new AtomicInteger(Math.max(initialCount, 0));
+    }
+
+    @IdRes
+    public int getTabId() {
+        return tabId;
+    }
+
+    /**
+     * Get the current count, including changes not shown yet.
+     */
+    public int get() {
+        return count.get();
+    }
+
+    /**
+     * Set the count. Zero removes the badge; negative counts are treated as zero.
+     */
+    public void set(int newCount) {
+        count.set(Math.max(newCount, 0));
+        markDirty();
+    }
+
+    /**
+     * Increase the count by one.
+     *
+     * @return the new count.
+     */
+    public int increment() {
+        int newCount = count.incrementAndGet();
+        markDirty();
+        return newCount;
+    }
+
+    /**
+     * Decrease the count by one, unless it's already zero.
+     *
+     * @return the new count.
+     */
+    public int decrement() {
+        int current;
+
+        do {
+            current = count.get();
+
+            if (current == 0) {
+                return 0;
+            }
+        } while (!count.compareAndSet(current, current - 1));
+
+        markDirty();
+        return current - 1;
+    }
+
+    /**
+     * Clears the dirty flag, returning whether it was set. The count must be
+     * read after this, so changes made in between aren't lost.
+     */
+    boolean takeDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    private void markDirty() {
+        if (dirty.compareAndSet(false, true)) {
+            listener.onCounterDirty();
+        }
+    }
+}
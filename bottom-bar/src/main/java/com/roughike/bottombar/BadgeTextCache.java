@@ -0,0 +1,167 @@
+package com.roughike.bottombar;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Process-wide cache for the texts shown in badges.
+ * <p>
+ * The label of every count up to the cap is created and measured only once
+ * per text style; very high caps only cache the first thousand labels.
+ * Counts above the cap show as the cap followed by a "+".
+ * The width of a badge only depends on the number of digits it shows, so
+ * changing the count within the same number of digits never resizes it.
+ */
+final class BadgeTextCache {
+    private static final int MAX_ENTRIES = 4;
+    private static final int MAX_CACHED_COUNT = 999;
+    private static final String DIGITS = "0123456789";
+
+    private static final LruCache<Key, BadgeTextCache> CACHE = new LruCache<>(MAX_ENTRIES);
+
+    private final int maxCount;
+    private final String overflowText;
+    private final String[] texts;
+    private final float[] slotWidths;
+    private final float overflowWidth;
+
+    private BadgeTextCache(@NonNull Paint paint, int maxCount) {
+        this.maxCount = maxCount;
+        this.overflowText = maxCount + "+";
+        this.texts = new String[Math.min(maxCount, MAX_CACHED_COUNT) + 1];
+
+        float widestDigit = 0;
+
+        for (int i = 0; i < DIGITS.length(); i++) {
+            widestDigit = Math.max(widestDigit, paint.measureText(DIGITS, i, i + 1));
+        }
+
+        int maxDigits = digitCount(maxCount);
+        slotWidths = new float[maxDigits + 1];
+
+        for (int digits = 1; digits <= maxDigits; digits++) {
+            slotWidths[digits] = widestDigit * digits;
+        }
+
+        overflowWidth = widestDigit * maxDigits + paint.measureText("+");
+    }
+
+    /**
+     * Returns the cache for texts drawn with the given paint, capped at the given count.
+     */
+    @NonNull
+    static BadgeTextCache get(@NonNull Paint paint, int maxCount) {
+        Key key = new Key(paint.getTextSize(), paint.getTypeface(), Math.max(maxCount, 1));
+        BadgeTextCache cache = CACHE.get(key);
+
+        if (cache == null) {
+            cache = new BadgeTextCache(paint, key.maxCount);
+            CACHE.put(key, cache);
+        }
+
+        return cache;
+    }
+
+    /**
+     * Returns the text for the given positive count.
+     */
+    @NonNull
+    String getText(int count) {
+        if (count > maxCount) {
+            return overflowText;
+        }
+
+        if (count >= texts.length) {
+            return String.valueOf(count);
+        }
+
+        String text = texts[count];
+
+        if (text == null) {
+            text = String.valueOf(count);
+            texts[count] = text;
+        }
+
+        return text;
+    }
+
+    /**
+     * Returns the width reserved for the text of the given positive count,
+     * which is the same for all counts with as many digits.
+     */
+    float getWidth(int count) {
+        if (count > maxCount) {
+            return overflowWidth;
+        }
+
+        return slotWidths[digitCount(count)];
+    }
+
+    int getMaxCount() {
+        return maxCount;
+    }
+
+    private static int digitCount(int count) {
+        int digits = 1;
+
+        while (count >= 10) {
+            count /= 10;
+            digits++;
+        }
+
+        return digits;
+    }
+
+    private static final class Key {
+        private final float textSize;
+        @Nullable
+        private final Typeface typeface;
+        private final int maxCount;
+
+        Key(float textSize, @Nullable Typeface typeface, int maxCount) {
+            this.textSize = textSize;
+            this.typeface = typeface;
+            this.maxCount = maxCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return textSize == other.textSize
+                    && maxCount == other.maxCount
+                    && (typeface != null ? typeface.equals(other.typeface) : other.typeface == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(textSize);
+            result = 31 * result + (typeface != null ? typeface.hashCode() : 0);
+            result = 31 * result + maxCount;
+            return result;
+        }
+    }
+}
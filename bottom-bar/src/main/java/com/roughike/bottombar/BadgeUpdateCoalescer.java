@@ -0,0 +1,168 @@
+package com.roughike.bottombar;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+import android.support.v4.view.ViewCompat;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Collects badge count updates for the tabs of a BottomBar and applies them
+ * once per frame.
+ * <p>
+ * Any number of updates for a tab within one frame collapse into its latest
+ * count. A tab that got several updates in the same frame skips the badge
+ * animation, since the values in between were never shown. Must be used from
+ * the main thread, except for the {@link BadgeCounter}s it hands out, which
+ * can be changed from any thread.
+ */
+final class BadgeUpdateCoalescer implements Runnable, BadgeCounter.OnDirtyListener {
+    private final BottomBar bottomBar;
+    private final SparseIntArray pendingCounts = new SparseIntArray();
+    private final SparseIntArray updatesPerTab = new SparseIntArray();
+
+    private final SparseArray<BadgeCounter> counters = new SparseArray<>();
+    private final AtomicBoolean isCollectScheduled = new AtomicBoolean();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable collectDirtyCounters = new Runnable() {
+        @Override
+        public void run() {
+            collectDirtyCounters();
+        }
+    };
+
+    private Object frameCallback;
+    private boolean isScheduled;
+
+    BadgeUpdateCoalescer(@NonNull BottomBar bottomBar) {
+        this.bottomBar = bottomBar;
+    }
+
+    void post(int tabId, int count) {
+        pendingCounts.put(tabId, count);
+        updatesPerTab.put(tabId, updatesPerTab.get(tabId) + 1);
+        schedule();
+    }
+
+    void postAll(@NonNull SparseIntArray countsByTabId) {
+        for (int i = 0; i < countsByTabId.size(); i++) {
+            post(countsByTabId.keyAt(i), countsByTabId.valueAt(i));
+        }
+    }
+
+    /**
+     * Returns the counter for the given tab, creating it with the given count
+     * if there is none yet.
+     */
+    @NonNull
+    BadgeCounter getCounter(int tabId, int initialCount) {
+        BadgeCounter counter = counters.get(tabId);
+
+        if (counter == null) {
+            counter = new BadgeCounter(tabId, initialCount, this);
+            counters.put(tabId, counter);
+        }
+
+        return counter;
+    }
+
+    @Override
+    public void onCounterDirty() {
+        // Only the first change after a collect posts, so bursts from
+        // background threads don't flood the main looper.
+        if (isCollectScheduled.compareAndSet(false, true)) {
+            mainHandler.post(collectDirtyCounters);
+        }
+    }
+
+    @VisibleForTesting
+    void collectDirtyCounters() {
+        isCollectScheduled.set(false);
+
+        for (int i = 0; i < counters.size(); i++) {
+            BadgeCounter counter = counters.valueAt(i);
+
+            if (counter.takeDirty()) {
+                post(counter.getTabId(), counter.get());
+            }
+        }
+    }
+
+    boolean hasPendingUpdates() {
+        return pendingCounts.size() > 0;
+    }
+
+    private void schedule() {
+        if (isScheduled) {
+            return;
+        }
+
+        isScheduled = true;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postFrameCallback();
+        } else {
+            ViewCompat.postOnAnimation(bottomBar, this);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (frameCallback == null) {
+            frameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    run();
+                }
+            };
+        }
+
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+    }
+
+    /**
+     * Applies all pending updates now.
+     */
+    @Override
+    public void run() {
+        isScheduled = false;
+
+        for (int i = 0; i < pendingCounts.size(); i++) {
+            int tabId = pendingCounts.keyAt(i);
+            BottomBarTab tab = bottomBar.getTabWithId(tabId);
+
+            if (tab != null) {
+                boolean animate = tab.isAnimateBadgeCount() && updatesPerTab.get(tabId) == 1;
+                tab.setBadgeCount(pendingCounts.valueAt(i), animate);
+            }
+        }
+
+        pendingCounts.clear();
+        updatesPerTab.clear();
+    }
+}
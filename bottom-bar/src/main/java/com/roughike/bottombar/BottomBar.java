@@ -1,8 +1,5 @@
 package com.roughike.bottombar;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Color;
@@ -11,6 +8,8 @@ import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.IdRes;
@@ -22,11 +21,11 @@ import android.support.annotation.XmlRes;
 import android.support.design.widget.CoordinatorLayout;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.view.ViewCompat;
-import android.support.v4.view.ViewPropertyAnimatorListenerAdapter;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.util.SparseIntArray;
+import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewAnimationUtils;
 import android.view.ViewGroup;
 import android.view.ViewOutlineProvider;
 import android.view.ViewParent;
@@ -34,7 +33,9 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /*
  * BottomBar library for Android
@@ -63,17 +64,44 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     private static final int BEHAVIOR_DRAW_UNDER_NAV = 4;
     private static final int BEHAVIOR_ICONS_ONLY = 8;
     private static final int BEHAVIOR_NO_SCALE = 16;
+    // Tab render modes
+    private static final int RENDER_MODE_VIEWS = 0;
+    private static final int RENDER_MODE_CANVAS = 1;
+
+    private AnimationPolicy animationPolicy;
+    private TransitionFrameMonitor frameMonitor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final BottomBarMetrics metrics = new BottomBarMetrics();
+    // Used by the single property setters, so they don't create an editor per call.
+    private final BottomBarEditor propertyEditor = new BottomBarEditor(this);
+    private final Runnable touchEndRunnable = new Runnable() {
+        @Override
+        public void run() {
+            metrics.onTouchEnd();
+        }
+    };
+    private final TabViewPool tabViewPool = new TabViewPool();
+    private final BadgeUpdateCoalescer badgeUpdateCoalescer = new BadgeUpdateCoalescer(this);
+    private final SelectionTransition selectionTransition = new SelectionTransition(
+            new SelectionTransition.Listener() {
+                @Override
+                public void onTransitionProgress(float fraction) {
+                    onSelectionTransitionProgress(fraction);
+                }
 
-    private BatchTabPropertyApplier batchPropertyApplier;
+                @Override
+                public void onTransitionEnd() {
+                    onSelectionTransitionEnd();
+                }
+            });
     private int primaryColor;
-    private int screenWidth;
     private int tenDp;
-    private int maxFixedItemWidth;
 
     // XML Attributes
     private int tabXmlResource;
     private boolean isTabletMode;
     private int behaviors;
+    private int tabRenderMode;
     private float inActiveTabAlpha;
     private float activeTabAlpha;
     private int inActiveTabColor;
@@ -83,22 +111,28 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     private boolean longPressHintsEnabled;
     private int titleTextAppearance;
     private Typeface titleTypeFace;
+
+    @Nullable
+    private String pendingTitleTypeFacePath;
     private boolean showShadow;
     private float shadowElevation;
     private View shadowView;
     private boolean animateBadgeCount;
+    private int badgeMaxCount;
 
-    private View backgroundOverlay;
-    private ViewGroup outerContainer;
+    private BackgroundRevealLayout outerContainer;
     private ViewGroup tabContainer;
 
+    @Nullable
+    private TabStripLayout tabStripLayout;
+
+    @Nullable
+    private DrawnTabStrip drawnTabStrip;
+
     private int defaultBackgroundColor = Color.WHITE;
     private int currentBackgroundColor;
     private int currentTabPosition;
 
-    private int inActiveShiftingItemWidth;
-    private int activeShiftingItemWidth;
-
     @Nullable
     private TabSelectionInterceptor tabSelectionInterceptor;
 
@@ -115,7 +149,18 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     private boolean shyHeightAlreadyCalculated;
     private boolean navBarAccountedHeightCalculated;
 
-    private BottomBarTab[] currentTabs;
+    /**
+     * The current tabs by position, and their positions by id. These are the
+     * only place tabs are looked up, however their views are wrapped.
+     */
+    private BottomBarTab[] currentTabs = new BottomBarTab[0];
+    private final SparseIntArray tabPositionsById = new SparseIntArray();
+
+    @Nullable
+    private List<TabSpec> currentSpecs;
+
+    @Nullable
+    private BottomBarTab.Config currentTabConfig;
 
     public BottomBar(Context context) {
         this(context, null);
@@ -137,7 +182,8 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     }
 
     private void init(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
-        batchPropertyApplier = new BatchTabPropertyApplier(this);
+        animationPolicy = new AnimationPolicy(context);
+        frameMonitor = new TransitionFrameMonitor(context, animationPolicy, metrics);
 
         populateAttributes(context, attrs, defStyleAttr, defStyleRes);
         initializeViews();
@@ -155,6 +201,7 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
+        animationPolicy.startListening();
 
         // This is so that in Pre-Lollipop devices there is a shadow BUT without pushing the content
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP && showShadow && shadowView != null) {
@@ -173,6 +220,13 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         }
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        animationPolicy.stopListening();
+        tabViewPool.clear();
+        super.onDetachedFromWindow();
+    }
+
     @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
     private void init21(Context context) {
         if (showShadow) {
@@ -187,9 +241,7 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
 
     private void populateAttributes(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
         primaryColor = MiscUtils.getColor(getContext(), R.attr.colorPrimary);
-        screenWidth = MiscUtils.getScreenWidth(getContext());
         tenDp = MiscUtils.dpToPixel(getContext(), 10);
-        maxFixedItemWidth = MiscUtils.dpToPixel(getContext(), 168);
 
         TypedArray ta = context.getTheme()
                 .obtainStyledAttributes(attrs, R.styleable.BottomBar, defStyleAttr, defStyleRes);
@@ -198,6 +250,7 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
             tabXmlResource = ta.getResourceId(R.styleable.BottomBar_bb_tabXmlResource, 0);
             isTabletMode = ta.getBoolean(R.styleable.BottomBar_bb_tabletMode, false);
             behaviors = ta.getInteger(R.styleable.BottomBar_bb_behavior, BEHAVIOR_NONE);
+            tabRenderMode = ta.getInt(R.styleable.BottomBar_bb_tabRenderMode, RENDER_MODE_VIEWS);
             inActiveTabAlpha = ta.getFloat(R.styleable.BottomBar_bb_inActiveTabAlpha,
                     isShiftingMode() ? DEFAULT_INACTIVE_SHIFTING_TAB_ALPHA : 1);
             activeTabAlpha = ta.getFloat(R.styleable.BottomBar_bb_activeTabAlpha, 1);
@@ -213,9 +266,17 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
             badgeBackgroundColor = ta.getColor(R.styleable.BottomBar_bb_badgeBackgroundColor, Color.RED);
             hideBadgeWhenActive = ta.getBoolean(R.styleable.BottomBar_bb_badgesHideWhenActive, true);
             titleTextAppearance = ta.getResourceId(R.styleable.BottomBar_bb_titleTextAppearance, 0);
-            titleTypeFace = getTypeFaceFromAsset(ta.getString(R.styleable.BottomBar_bb_titleTypeFace));
+            String titleTypeFacePath = ta.getString(R.styleable.BottomBar_bb_titleTypeFace);
+
+            if (titleTypeFacePath != null) {
+                setTabTitleTypeface(titleTypeFacePath);
+            }
+
             showShadow = ta.getBoolean(R.styleable.BottomBar_bb_showShadow, true);
             animateBadgeCount = ta.getBoolean(R.styleable.BottomBar_bb_animateBadgeCount, false);
+            badgeMaxCount = ta.getInt(R.styleable.BottomBar_bb_badgeMaxCount, BottomBarTab.DEFAULT_BADGE_MAX_COUNT);
+            selectionTransition.setHardwareLayersEnabled(
+                    ta.getBoolean(R.styleable.BottomBar_bb_hardwareLayerTransitions, true));
         } finally {
             ta.recycle();
         }
@@ -244,6 +305,10 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         return shyHeightAlreadyCalculated;
     }
 
+    private boolean isCanvasRenderMode() {
+        return !isTabletMode && tabRenderMode == RENDER_MODE_CANVAS;
+    }
+
     private boolean isIconsOnlyMode() {
         return !isTabletMode && hasBehavior(BEHAVIOR_ICONS_ONLY);
     }
@@ -252,15 +317,6 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         return (behaviors | behavior) == behaviors;
     }
 
-    private Typeface getTypeFaceFromAsset(String fontPath) {
-        if (fontPath != null) {
-            return Typeface.createFromAsset(
-                    getContext().getAssets(), fontPath);
-        }
-
-        return null;
-    }
-
     private void initializeViews() {
         int width = isTabletMode ? LayoutParams.WRAP_CONTENT : LayoutParams.MATCH_PARENT;
         int height = isTabletMode ? LayoutParams.MATCH_PARENT : LayoutParams.WRAP_CONTENT;
@@ -273,10 +329,24 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
                 isTabletMode ? R.layout.bb_bottom_bar_item_container_tablet : R.layout.bb_bottom_bar_item_container, this);
         rootView.setLayoutParams(params);
 
-        backgroundOverlay = rootView.findViewById(R.id.bb_bottom_bar_background_overlay);
-        outerContainer = (ViewGroup) rootView.findViewById(R.id.bb_bottom_bar_outer_container);
+        outerContainer = (BackgroundRevealLayout) rootView.findViewById(R.id.bb_bottom_bar_outer_container);
         tabContainer = (ViewGroup) rootView.findViewById(R.id.bb_bottom_bar_item_container);
+
+        if (tabContainer instanceof TabStripLayout) {
+            tabStripLayout = (TabStripLayout) tabContainer;
+            tabStripLayout.setShifting(isShiftingMode());
+        }
         shadowView = findViewById(R.id.bb_bottom_bar_shadow);
+
+        if (isCanvasRenderMode()) {
+            drawnTabStrip = new DrawnTabStrip(getContext());
+            drawnTabStrip.setTabClickListeners(this, this);
+
+            outerContainer.removeView(tabContainer);
+            tabStripLayout = null;
+            outerContainer.addView(drawnTabStrip, new ViewGroup.LayoutParams(
+                    LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+        }
     }
 
     private void determineInitialBackgroundColor() {
@@ -311,12 +381,289 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
             throw new RuntimeException("No items specified for the BottomBar!");
         }
 
-        if (defaultTabConfig == null) {
-            defaultTabConfig = getTabConfig();
+        setItems(TabSpecCache.get(getContext(), xmlRes), defaultTabConfig);
+    }
+
+    /**
+     * Set the items for the BottomBar from a list of {@link TabSpec}s.
+     */
+    public void setItems(@NonNull List<TabSpec> tabSpecs) {
+        setItems(tabSpecs, null);
+    }
+
+    /**
+     * Set the items for the BottomBar from a list of {@link TabSpec}s with a
+     * default configuration for each tab. Values specified in a TabSpec
+     * override the ones in the configuration.
+     * <p>
+     * If the BottomBar already has items with the same configuration, the new items
+     * are matched with the current ones by tab id, and only the inserted, removed,
+     * moved and changed tabs are updated. The selected tab and badges of the kept
+     * tabs stay as they are.
+     */
+    public void setItems(@NonNull List<TabSpec> tabSpecs, BottomBarTab.Config defaultTabConfig) {
+        applyItems(tabSpecs, defaultTabConfig, null);
+    }
+
+    /**
+     * Like {@link #setItems(List)}, but compares the new items with the current ones
+     * on the given executor. The changes are applied on the main thread afterwards.
+     */
+    public void setItemsAsync(@NonNull List<TabSpec> tabSpecs, @NonNull Executor executor) {
+        setItemsAsync(tabSpecs, null, executor);
+    }
+
+    /**
+     * Like {@link #setItems(List, BottomBarTab.Config)}, but compares the new items
+     * with the current ones on the given executor. The changes are applied on the
+     * main thread afterwards.
+     * <p>
+     * Items can only be compared when the BottomBar already has items with the same
+     * configuration. Otherwise all tabs are rebuilt right away on the calling thread,
+     * just like {@link #setItems(List, BottomBarTab.Config)} does.
+     */
+    public void setItemsAsync(@NonNull final List<TabSpec> tabSpecs,
+                              @Nullable final BottomBarTab.Config defaultTabConfig,
+                              @NonNull Executor executor) {
+        final List<TabSpec> oldSpecs = currentSpecs;
+        boolean sameConfig = defaultTabConfig != null
+                ? defaultTabConfig.equals(currentTabConfig)
+                : currentTabConfig == null;
+
+        if (oldSpecs == null || !sameConfig) {
+            setItems(tabSpecs, defaultTabConfig);
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final TabSpecDiff diff = TabSpecDiff.calculate(oldSpecs, tabSpecs);
+
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // The items may have changed while the diff was calculated.
+                        applyItems(tabSpecs, defaultTabConfig, currentSpecs == oldSpecs ? diff : null);
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyItems(@NonNull List<TabSpec> tabSpecs, @Nullable BottomBarTab.Config defaultTabConfig,
+                            @Nullable TabSpecDiff diff) {
+        if (tabSpecs.isEmpty()) {
+            throw new RuntimeException("No items specified for the BottomBar!");
+        }
+
+        selectionTransition.cancel();
+
+        BottomBarTab.Config tabConfig = defaultTabConfig != null ? defaultTabConfig : getTabConfig();
+        boolean canApplyDiff = currentSpecs != null
+                && getTabCount() == currentSpecs.size()
+                && (defaultTabConfig != null
+                        ? defaultTabConfig.equals(currentTabConfig)
+                        : currentTabConfig == null);
+
+        if (canApplyDiff) {
+            if (diff == null) {
+                diff = TabSpecDiff.calculate(currentSpecs, tabSpecs);
+            }
+
+            applyDiff(diff, tabSpecs, tabConfig);
+        } else {
+            recycleTabs();
+            updateItems(createTabs(tabSpecs, tabConfig));
         }
 
-        TabParser parser = new TabParser(getContext(), defaultTabConfig, xmlRes);
-        updateItems(parser.parseTabs());
+        currentSpecs = new ArrayList<>(tabSpecs);
+        currentTabConfig = defaultTabConfig;
+    }
+
+    private void applyDiff(TabSpecDiff diff, List<TabSpec> tabSpecs, BottomBarTab.Config tabConfig) {
+        if (!diff.hasStructuralChanges()) {
+            for (int i = 0; i < tabSpecs.size(); i++) {
+                if (diff.isChanged(i)) {
+                    rebindTab(getTabAtPosition(i), tabSpecs.get(i), tabConfig);
+                }
+            }
+
+            return;
+        }
+
+        int selectedTabId = getCurrentTabId();
+        BottomBarTab[] oldTabs = new BottomBarTab[getTabCount()];
+        BottomBarTab[] newTabs = new BottomBarTab[tabSpecs.size()];
+
+        for (int i = 0; i < oldTabs.length; i++) {
+            oldTabs[i] = getTabAtPosition(i);
+        }
+
+        if (drawnTabStrip == null) {
+            for (int removedPosition : diff.getRemovedPositions()) {
+                BottomBarTab removedTab = oldTabs[removedPosition];
+                removedTab.recycle();
+                tabContainer.removeView(removedTab);
+                tabViewPool.release(removedTab);
+            }
+        }
+
+        BottomBarTab.Type type = getTabType();
+
+        for (int i = 0; i < newTabs.length; i++) {
+            int oldPosition = diff.getOldPosition(i);
+
+            if (oldPosition == TabSpecDiff.NO_POSITION) {
+                newTabs[i] = createTab(tabSpecs.get(i), tabConfig, i, type);
+                prepareTab(newTabs[i], type);
+
+                if (drawnTabStrip == null) {
+                    newTabs[i].deselect(false);
+                }
+            } else {
+                newTabs[i] = oldTabs[oldPosition];
+                newTabs[i].setIndexInContainer(i);
+
+                if (diff.isChanged(i)) {
+                    rebindTab(newTabs[i], tabSpecs.get(i), tabConfig);
+                }
+            }
+        }
+
+        if (drawnTabStrip != null) {
+            drawnTabStrip.setTabs(newTabs);
+        } else {
+            for (int i = 0; i < newTabs.length; i++) {
+                BottomBarTab tabView = newTabs[i];
+
+                if (tabContainer.getChildAt(i) != tabView) {
+                    if (tabView.getParent() != null) {
+                        tabContainer.removeView(tabView);
+                    }
+
+                    tabContainer.addView(tabView, i);
+                }
+            }
+        }
+
+        setCurrentTabs(newTabs);
+        updateSelectionAfterDiff(newTabs, selectedTabId);
+
+        if (tabStripLayout != null) {
+            tabStripLayout.setSelectedIndex(currentTabPosition, false);
+        }
+    }
+
+    private void updateSelectionAfterDiff(BottomBarTab[] tabs, @IdRes int selectedTabId) {
+        for (int i = 0; i < tabs.length; i++) {
+            if (tabs[i].getId() == selectedTabId && tabs[i].isActive()) {
+                currentTabPosition = i;
+
+                if (drawnTabStrip != null) {
+                    tabs[i].select(false);
+                }
+
+                return;
+            }
+        }
+
+        // The selected tab was removed, so select the one that took its place.
+        currentTabPosition = Math.min(currentTabPosition, tabs.length - 1);
+
+        BottomBarTab newTab = tabs[currentTabPosition];
+        newTab.select(false);
+        shiftingMagic(newTab, newTab, false);
+        handleBackgroundColorChange(newTab, AnimationLevel.INSTANT);
+
+        if (onTabSelectListener != null) {
+            onTabSelectListener.onTabSelected(newTab.getId());
+        }
+    }
+
+    private void rebindTab(BottomBarTab tab, TabSpec spec, BottomBarTab.Config tabConfig) {
+        tab.setConfig(tabConfig);
+        tab.bindSpec(spec);
+
+        if (isIconsOnlyMode()) {
+            tab.setIsTitleless(true);
+        }
+
+        if (drawnTabStrip == null) {
+            tab.prepareLayout();
+        }
+
+        if (tab.isActive()) {
+            tab.select(false);
+            handleBackgroundColorChange(tab, AnimationLevel.INSTANT);
+        } else {
+            tab.deselect(false);
+        }
+    }
+
+    /**
+     * Moves the current tabs into the tab view pool, so that the next items
+     * can reuse their already created child views.
+     */
+    private void recycleTabs() {
+        if (drawnTabStrip != null) {
+            return;
+        }
+
+        for (BottomBarTab tab : currentTabs) {
+            tab.recycle();
+        }
+
+        tabContainer.removeAllViews();
+
+        for (BottomBarTab tab : currentTabs) {
+            tabViewPool.release(tab);
+        }
+
+        setCurrentTabs(new BottomBarTab[0]);
+    }
+
+    private List<BottomBarTab> createTabs(List<TabSpec> specs, BottomBarTab.Config tabConfig) {
+        List<BottomBarTab> tabs = new ArrayList<>(specs.size());
+        BottomBarTab.Type type = getTabType();
+
+        for (int i = 0; i < specs.size(); i++) {
+            tabs.add(createTab(specs.get(i), tabConfig, i, type));
+        }
+
+        return tabs;
+    }
+
+    private BottomBarTab createTab(TabSpec spec, BottomBarTab.Config tabConfig, int index,
+                                   BottomBarTab.Type type) {
+        BottomBarTab tab = drawnTabStrip == null ? tabViewPool.obtain(type) : null;
+
+        if (tab == null) {
+            tab = new BottomBarTab(getContext());
+        }
+
+        tab.setConfig(tabConfig);
+        tab.setIndexInContainer(index);
+        tab.bindSpec(spec);
+        return tab;
+    }
+
+    /**
+     * Applies the BottomBar wide mode to a newly created tab and prepares
+     * its layout, unless the tab is drawn by the tab strip.
+     */
+    private void prepareTab(BottomBarTab tab, BottomBarTab.Type type) {
+        if (isIconsOnlyMode()) {
+            tab.setIsTitleless(true);
+        }
+
+        tab.setType(type);
+
+        if (drawnTabStrip == null) {
+            tab.prepareLayout();
+            tab.setOnClickListener(this);
+            tab.setOnLongClickListener(this);
+        }
     }
 
     private BottomBarTab.Config getTabConfig() {
@@ -331,30 +678,36 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
                 .titleTextAppearance(titleTextAppearance)
                 .titleTypeFace(titleTypeFace)
                 .animateBadgeCount(animateBadgeCount)
+                .badgeMaxCount(badgeMaxCount)
                 .build();
     }
 
+    private BottomBarTab.Type getTabType() {
+        if (isShiftingMode()) {
+            return BottomBarTab.Type.SHIFTING;
+        } else if (isTabletMode) {
+            return BottomBarTab.Type.TABLET;
+        } else if (isNoScaleMode()) {
+            return BottomBarTab.Type.NO_SCALING;
+        } else {
+            return BottomBarTab.Type.FIXED;
+        }
+    }
+
     private void updateItems(final List<BottomBarTab> bottomBarItems) {
+        if (drawnTabStrip != null) {
+            updateDrawnItems(bottomBarItems);
+            return;
+        }
+
         tabContainer.removeAllViews();
 
         int index = 0;
-        int biggestWidth = 0;
 
         BottomBarTab[] viewsToAdd = new BottomBarTab[bottomBarItems.size()];
+        BottomBarTab.Type type = getTabType();
 
         for (BottomBarTab bottomBarTab : bottomBarItems) {
-            BottomBarTab.Type type;
-
-            if (isShiftingMode()) {
-                type = BottomBarTab.Type.SHIFTING;
-            } else if (isTabletMode) {
-                type = BottomBarTab.Type.TABLET;
-            } else if (isNoScaleMode()) {
-                type = BottomBarTab.Type.NO_SCALING;
-            } else {
-                type = BottomBarTab.Type.FIXED;
-            }
-
             if (isIconsOnlyMode()) {
                 bottomBarTab.setIsTitleless(true);
             }
@@ -365,69 +718,62 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
             if (index == currentTabPosition) {
                 bottomBarTab.select(false);
 
-                handleBackgroundColorChange(bottomBarTab, false);
+                handleBackgroundColorChange(bottomBarTab, AnimationLevel.INSTANT);
             } else {
                 bottomBarTab.deselect(false);
             }
 
-            if (!isTabletMode) {
-                if (bottomBarTab.getWidth() > biggestWidth) {
-                    biggestWidth = bottomBarTab.getWidth();
-                }
-
-                viewsToAdd[index] = bottomBarTab;
-            } else {
-                tabContainer.addView(bottomBarTab);
-            }
+            viewsToAdd[index] = bottomBarTab;
+            tabContainer.addView(bottomBarTab);
 
             bottomBarTab.setOnClickListener(this);
             bottomBarTab.setOnLongClickListener(this);
             index++;
         }
 
-        currentTabs = viewsToAdd;
+        setCurrentTabs(viewsToAdd);
 
-        if (!isTabletMode) {
-            resizeTabsToCorrectSizes(viewsToAdd);
+        if (tabStripLayout != null) {
+            tabStripLayout.setSelectedIndex(currentTabPosition, false);
         }
     }
 
-    private void resizeTabsToCorrectSizes(BottomBarTab[] tabsToAdd) {
-        int viewWidth = MiscUtils.pixelToDp(getContext(), getWidth());
+    private void updateDrawnItems(List<BottomBarTab> bottomBarItems) {
+        BottomBarTab[] tabs = bottomBarItems.toArray(new BottomBarTab[bottomBarItems.size()]);
+        BottomBarTab.Type type = getTabType();
 
-        if (viewWidth <= 0 || viewWidth > screenWidth) {
-            viewWidth = screenWidth;
-        }
+        for (BottomBarTab bottomBarTab : tabs) {
+            if (isIconsOnlyMode()) {
+                bottomBarTab.setIsTitleless(true);
+            }
 
-        int proposedItemWidth = Math.min(
-                MiscUtils.dpToPixel(getContext(), viewWidth / tabsToAdd.length),
-                maxFixedItemWidth
-        );
+            bottomBarTab.setType(type);
+        }
 
-        inActiveShiftingItemWidth = (int) (proposedItemWidth * 0.9);
-        activeShiftingItemWidth = (int) (proposedItemWidth + (proposedItemWidth * ((tabsToAdd.length - 1) * 0.1)));
-        int height = Math.round(getContext().getResources()
-                .getDimension(R.dimen.bb_height));
+        drawnTabStrip.setTabs(tabs);
 
-        for (BottomBarTab tabView : tabsToAdd) {
-            ViewGroup.LayoutParams params = tabView.getLayoutParams();
-            params.height = height;
+        for (int i = 0; i < tabs.length; i++) {
+            if (i == currentTabPosition) {
+                tabs[i].select(false);
 
-            if (isShiftingMode()) {
-                if (tabView.isActive()) {
-                    params.width = activeShiftingItemWidth;
-                } else {
-                    params.width = inActiveShiftingItemWidth;
-                }
+                handleBackgroundColorChange(tabs[i], AnimationLevel.INSTANT);
             } else {
-                params.width = proposedItemWidth;
+                tabs[i].deselect(false);
             }
+        }
 
-            if (tabView.getParent() == null) {
-                tabContainer.addView(tabView);
-            }
+        setCurrentTabs(tabs);
+    }
 
-            tabView.setLayoutParams(params);
+    private void setCurrentTabs(BottomBarTab[] tabs) {
+        currentTabs = tabs;
+        tabPositionsById.clear();
+
+        for (int i = 0; i < tabs.length; i++) {
+            // Like findViewById, the first tab with an id wins.
+            if (tabPositionsById.indexOfKey(tabs[i].getId()) < 0) {
+                tabPositionsById.put(tabs[i].getId(), i);
+            }
         }
     }
 
@@ -568,16 +914,17 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         BottomBarTab oldTab = getCurrentTab();
         BottomBarTab newTab = getTabAtPosition(position);
 
-        oldTab.deselect(animate);
-        newTab.select(animate);
-
+        metrics.cancel();
+        changeSelection(oldTab, newTab, animate);
         updateSelectedTab(position);
-        shiftingMagic(oldTab, newTab, animate);
-        handleBackgroundColorChange(newTab, animate);
+
+        if (animate) {
+            monitorFrames(oldTab, newTab);
+        }
     }
 
     public int getTabCount() {
-        return tabContainer.getChildCount();
+        return currentTabs.length;
     }
 
     /**
@@ -591,13 +938,11 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
      * Get the tab at the specified position.
      */
     public BottomBarTab getTabAtPosition(int position) {
-        View child = tabContainer.getChildAt(position);
-
-        if (child instanceof BadgeContainer) {
-            return findTabInLayout((BadgeContainer) child);
+        if (position < 0 || position >= currentTabs.length) {
+            return null;
         }
 
-        return (BottomBarTab) child;
+        return currentTabs[position];
     }
 
     /**
@@ -617,16 +962,18 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
 
     /**
      * Find the tabs' position in the container by id.
+     *
+     * @return the position of the tab, or -1 if there's no tab with the id.
      */
     public int findPositionForTabWithId(@IdRes int tabId) {
-        return getTabWithId(tabId).getIndexInTabContainer();
+        return tabPositionsById.get(tabId, -1);
     }
 
     /**
      * Find a BottomBarTab with the corresponding id.
      */
     public BottomBarTab getTabWithId(@IdRes int tabId) {
-        return (BottomBarTab) tabContainer.findViewById(tabId);
+        return getTabAtPosition(findPositionForTabWithId(tabId));
     }
 
     /**
@@ -640,113 +987,204 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         longPressHintsEnabled = enabled;
     }
 
+    /**
+     * Controls whether the icons and titles of the tabs are drawn into
+     * hardware layers while a selection change animates them. Only tabs whose
+     * color doesn't change get layers, and they're released as soon as the
+     * animation ends. Enabled by default.
+     */
+    public void setHardwareLayerTransitionsEnabled(boolean enabled) {
+        selectionTransition.setHardwareLayersEnabled(enabled);
+    }
+
+    public boolean isHardwareLayerTransitionsEnabled() {
+        return selectionTransition.isHardwareLayersEnabled();
+    }
+
+    /**
+     * Get the level the next selection change would be animated with. It
+     * changes with the system settings and steps down on its own if tab
+     * changes keep dropping frames, so it's useful for logging.
+     */
+    @NonNull
+    public AnimationLevel getAnimationLevel() {
+        return animationPolicy.getLevel();
+    }
+
+    /**
+     * Set a listener that gets the frame timings of every animated tab change,
+     * to find out whether switching tabs is smooth in the field. Frames are
+     * only timed on API 16 and up.
+     *
+     * @param listener a listener for the frame timings, or null to stop.
+     */
+    public void setOnTransitionFramesListener(@Nullable OnTransitionFramesListener listener) {
+        frameMonitor.setListener(listener);
+    }
+
+    /**
+     * Get the latency of the tab changes made by the user so far, such as the
+     * time spent in the {@link OnTabSelectListener}.
+     */
+    @NonNull
+    public BottomBarMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the number of hardware layers created for tab transitions so far.
+     */
+    public int getHardwareLayerCount() {
+        return selectionTransition.getHardwareLayerCount();
+    }
+
+    /**
+     * Start changing several tab properties at once. The changes are applied
+     * to all tabs in one pass when {@link BottomBarEditor#apply()} is called,
+     * which is cheaper than calling the setters one by one.
+     */
+    @NonNull
+    public BottomBarEditor edit() {
+        return new BottomBarEditor(this);
+    }
+
+    void applyEdit(@NonNull BottomBarEditor edit) {
+        if (edit.isSet(BottomBarEditor.INACTIVE_ALPHA)) {
+            inActiveTabAlpha = edit.inActiveAlpha;
+        }
+
+        if (edit.isSet(BottomBarEditor.ACTIVE_ALPHA)) {
+            activeTabAlpha = edit.activeAlpha;
+        }
+
+        if (edit.isSet(BottomBarEditor.INACTIVE_COLOR)) {
+            inActiveTabColor = edit.inActiveColor;
+        }
+
+        if (edit.isSet(BottomBarEditor.ACTIVE_COLOR)) {
+            activeTabColor = edit.activeColor;
+        }
+
+        if (edit.isSet(BottomBarEditor.BADGE_BACKGROUND_COLOR)) {
+            badgeBackgroundColor = edit.badgeBackgroundColor;
+        }
+
+        if (edit.isSet(BottomBarEditor.BADGE_HIDES_WHEN_ACTIVE)) {
+            hideBadgeWhenActive = edit.badgeHidesWhenActive;
+        }
+
+        if (edit.isSet(BottomBarEditor.BADGE_MAX_COUNT)) {
+            badgeMaxCount = edit.badgeMaxCount;
+        }
+
+        if (edit.isSet(BottomBarEditor.ANIMATE_BADGE_COUNT)) {
+            animateBadgeCount = edit.animateBadgeCount;
+        }
+
+        if (edit.isSet(BottomBarEditor.TITLE_TEXT_APPEARANCE)) {
+            titleTextAppearance = edit.titleTextAppearance;
+        }
+
+        if (edit.isSet(BottomBarEditor.TITLE_TYPEFACE)) {
+            titleTypeFace = edit.titleTypeface;
+            pendingTitleTypeFacePath = null;
+        }
+
+        for (BottomBarTab tab : currentTabs) {
+            tab.applyEdit(edit.getDirtyProperties(tab), edit);
+        }
+    }
+
     /**
      * Set alpha value used for inactive BottomBarTabs.
      */
     public void setInActiveTabAlpha(float alpha) {
-        inActiveTabAlpha = alpha;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setInActiveAlpha(inActiveTabAlpha);
-            }
-        });
+        propertyEditor.setInActiveTabAlpha(alpha).apply();
     }
 
     /**
      * Set alpha value used for active BottomBarTabs.
      */
     public void setActiveTabAlpha(float alpha) {
-        activeTabAlpha = alpha;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setActiveAlpha(activeTabAlpha);
-            }
-        });
+        propertyEditor.setActiveTabAlpha(alpha).apply();
     }
 
     public void setInActiveTabColor(@ColorInt int color) {
-        inActiveTabColor = color;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setInActiveColor(inActiveTabColor);
-            }
-        });
+        propertyEditor.setInActiveTabColor(color).apply();
     }
 
     /**
      * Set active color used for selected BottomBarTabs.
      */
     public void setActiveTabColor(@ColorInt int color) {
-        activeTabColor = color;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setActiveColor(activeTabColor);
-            }
-        });
+        propertyEditor.setActiveTabColor(color).apply();
     }
 
     /**
      * Set animate first badge count for the badge
      */
-    public void setAnimateBadgeCount(final boolean animate) {
-        animateBadgeCount = animate;
+    public void setAnimateBadgeCount(boolean animate) {
+        propertyEditor.setAnimateBadgeCount(animate).apply();
+    }
 
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setAnimateBadgeCount(animate);
-            }
-        });
+    /**
+     * Set the badge counts of several tabs at once, such as when unread counts
+     * arrive from a sync. The keys are tab ids and the values their badge counts;
+     * zero or less removes the badge.
+     * <p>
+     * The counts are applied on the next frame. Calling this several times within
+     * one frame only applies the latest count for each tab, without animating
+     * the counts in between. Must be called from the main thread.
+     */
+    public void setBadgeCounts(@NonNull SparseIntArray countsByTabId) {
+        badgeUpdateCoalescer.postAll(countsByTabId);
+    }
+
+    /**
+     * Get a thread-safe counter for the badge of the tab with the given id.
+     * The counter can be changed from any thread; the latest count is shown on
+     * the next frame. The counter stays tied to the tab id across
+     * {@link #setItems(int)} calls.
+     * <p>
+     * Must be called from the main thread. Setting the badge count of the tab
+     * directly doesn't update the counter.
+     */
+    @NonNull
+    public BadgeCounter getBadgeCounter(@IdRes int tabId) {
+        BottomBarTab tab = getTabWithId(tabId);
+        int initialCount = tab != null ? tab.getBadgeCount() : 0;
+
+        return badgeUpdateCoalescer.getCounter(tabId, initialCount);
     }
 
     /**
      * Set background color for the badge.
      */
     public void setBadgeBackgroundColor(@ColorInt int color) {
-        badgeBackgroundColor = color;
+        propertyEditor.setBadgeBackgroundColor(color).apply();
+    }
 
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setBadgeBackgroundColor(badgeBackgroundColor);
-            }
-        });
+    /**
+     * Set the highest badge count shown as is. Higher counts are shown as
+     * this value followed by a "+", such as "99+".
+     */
+    public void setBadgeMaxCount(int maxCount) {
+        propertyEditor.setBadgeMaxCount(maxCount).apply();
     }
 
     /**
      * Controls whether the badge (if any) for active tabs
      * should be hidden or not.
      */
-    public void setBadgesHideWhenActive(final boolean hideWhenSelected) {
-        hideBadgeWhenActive = hideWhenSelected;
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setBadgeHidesWhenActive(hideWhenSelected);
-            }
-        });
+    public void setBadgesHideWhenActive(boolean hideWhenSelected) {
+        propertyEditor.setBadgesHideWhenActive(hideWhenSelected).apply();
     }
 
     /**
      * Set custom text apperance for all BottomBarTabs.
      */
     public void setTabTitleTextAppearance(int textAppearance) {
-        titleTextAppearance = textAppearance;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setTitleTextAppearance(titleTextAppearance);
-            }
-        });
+        propertyEditor.setTabTitleTextAppearance(textAppearance).apply();
     }
 
     /**
@@ -756,24 +1194,35 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
      *                 In that case your font path would look like src/main/assets/fonts/MySuperDuperFont.ttf,
      *                 but you only need to provide fonts/MySuperDuperFont.ttf, as the asset folder
      *                 will be auto-filled for you.
+     *                 <p>
+     *                 Fonts are cached for the whole process. A font that isn't cached yet
+     *                 is loaded in the background, and the tabs keep their current typeface
+     *                 until it's ready.
      */
-    public void setTabTitleTypeface(String fontPath) {
-        Typeface actualTypeface = getTypeFaceFromAsset(fontPath);
-        setTabTitleTypeface(actualTypeface);
+    public void setTabTitleTypeface(final String fontPath) {
+        if (fontPath == null) {
+            setTabTitleTypeface((Typeface) null);
+            return;
+        }
+
+        pendingTitleTypeFacePath = fontPath;
+
+        TypefaceCache.load(getContext(), fontPath, new TypefaceCache.Callback() {
+            @Override
+            public void onTypefaceLoaded(@NonNull Typeface typeface) {
+                // Skip fonts that were replaced by another one while loading.
+                if (fontPath.equals(pendingTitleTypeFacePath)) {
+                    setTabTitleTypeface(typeface);
+                }
+            }
+        });
     }
 
     /**
      * Set a custom typeface for all tab's titles.
      */
     public void setTabTitleTypeface(Typeface typeface) {
-        titleTypeFace = typeface;
-
-        batchPropertyApplier.applyToAllTabs(new BatchTabPropertyApplier.TabPropertyUpdater() {
-            @Override
-            public void update(BottomBarTab tab) {
-                tab.setTitleTypeface(titleTypeFace);
-            }
-        });
+        propertyEditor.setTabTitleTypeface(typeface).apply();
     }
 
     @Override
@@ -781,10 +1230,6 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         super.onLayout(changed, left, top, right, bottom);
 
         if (changed) {
-            if (!isTabletMode) {
-                resizeTabsToCorrectSizes(currentTabs);
-            }
-
             updateTitleBottomPadding();
 
             if (isShy()) {
@@ -861,7 +1306,9 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
 
             if (currentHeight != 0 && !navBarAccountedHeightCalculated) {
                 navBarAccountedHeightCalculated = true;
-                tabContainer.getLayoutParams().height = currentHeight;
+
+                View tabsView = drawnTabStrip != null ? drawnTabStrip : tabContainer;
+                tabsView.getLayoutParams().height = currentHeight;
 
                 int navbarHeight = NavbarUtils.getNavbarHeight(getContext());
                 int finalHeight = currentHeight + navbarHeight;
@@ -911,6 +1358,29 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         }
     }
 
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        int action = event.getActionMasked();
+
+        if (action == MotionEvent.ACTION_DOWN) {
+            removeCallbacks(touchEndRunnable);
+            metrics.onTouchDown();
+        }
+
+        boolean handled = super.dispatchTouchEvent(event);
+
+        if (action == MotionEvent.ACTION_CANCEL) {
+            metrics.onTouchEnd();
+        } else if (action == MotionEvent.ACTION_UP) {
+            // A tab posts its click on ACTION_UP, so this runs after the click
+            // of this gesture, if there was one.
+            removeCallbacks(touchEndRunnable);
+            post(touchEndRunnable);
+        }
+
+        return handled;
+    }
+
     @Override
     public void onClick(View target) {
         if (!(target instanceof BottomBarTab)) return;
@@ -922,18 +1392,6 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         return !(target instanceof BottomBarTab) || handleLongClick((BottomBarTab) target);
     }
 
-    private BottomBarTab findTabInLayout(ViewGroup child) {
-        for (int i = 0; i < child.getChildCount(); i++) {
-            View candidate = child.getChildAt(i);
-
-            if (candidate instanceof BottomBarTab) {
-                return (BottomBarTab) candidate;
-            }
-        }
-
-        return null;
-    }
-
     private void handleClick(BottomBarTab newTab) {
         BottomBarTab oldTab = getCurrentTab();
 
@@ -942,12 +1400,51 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
             return;
         }
 
-        oldTab.deselect(true);
-        newTab.select(true);
-
-        shiftingMagic(oldTab, newTab, true);
-        handleBackgroundColorChange(newTab, true);
+        metrics.onClick();
+        changeSelection(oldTab, newTab, true);
         updateSelectedTab(newTab.getIndexInTabContainer());
+        monitorFrames(oldTab, newTab);
+    }
+
+    /**
+     * Moves the selection from the old tab to the new one. If animated, the
+     * {@link AnimationPolicy} decides how much of the change is animated.
+     */
+    private void changeSelection(BottomBarTab oldTab, BottomBarTab newTab, boolean animate) {
+        AnimationLevel level = animate ? animationPolicy.getLevel() : AnimationLevel.INSTANT;
+        boolean animateTabs = level != AnimationLevel.INSTANT;
+
+        if (!animateTabs) {
+            selectionTransition.cancel();
+        }
+
+        if (drawnTabStrip != null) {
+            drawnTabStrip.setWidthAnimationEnabled(level == AnimationLevel.REVEAL);
+        }
+
+        oldTab.deselect(animateTabs);
+        newTab.select(animateTabs);
+
+        shiftingMagic(oldTab, newTab, level == AnimationLevel.REVEAL);
+        handleBackgroundColorChange(newTab, level);
+
+        if (animateTabs) {
+            selectionTransition.start(oldTab, newTab);
+        } else {
+            metrics.onTransitionEnd();
+        }
+    }
+
+    /**
+     * Starts timing the frames of a selection change. Called once the selection
+     * listener has returned, so that the listener's own work isn't counted.
+     */
+    private void monitorFrames(BottomBarTab oldTab, BottomBarTab newTab) {
+        frameMonitor.start(oldTab.getId(), newTab.getId());
+
+        if (!selectionTransition.isRunning()) {
+            frameMonitor.onTransitionEnd();
+        }
     }
 
     private boolean handleLongClick(BottomBarTab longClickedTab) {
@@ -969,11 +1466,19 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
         int newTabId = getTabAtPosition(newPosition).getId();
 
         if (newPosition != currentTabPosition) {
+            metrics.onListenerStart();
+
             if (onTabSelectListener != null) {
                 onTabSelectListener.onTabSelected(newTabId);
             }
-        } else if (onTabReselectListener != null && !ignoreTabReselectionListener) {
-            onTabReselectListener.onTabReSelected(newTabId);
+
+            metrics.onListenerEnd();
+        } else {
+            metrics.cancel();
+
+            if (onTabReselectListener != null && !ignoreTabReselectionListener) {
+                onTabReselectListener.onTabReSelected(newTabId);
+            }
         }
 
         currentTabPosition = newPosition;
@@ -984,118 +1489,95 @@ public class BottomBar extends LinearLayout implements View.OnClickListener, Vie
     }
 
     private void shiftingMagic(BottomBarTab oldTab, BottomBarTab newTab, boolean animate) {
-        if (isShiftingMode()) {
-            oldTab.updateWidth(inActiveShiftingItemWidth, animate);
-            newTab.updateWidth(activeShiftingItemWidth, animate);
+        if (isShiftingMode() && tabStripLayout != null) {
+            tabStripLayout.setSelectedIndex(newTab.getIndexInTabContainer(), animate);
+            oldTab.onWidthChanged(animate);
+            newTab.onWidthChanged(animate);
         }
     }
 
-    private void handleBackgroundColorChange(BottomBarTab tab, boolean animate) {
+    private void handleBackgroundColorChange(BottomBarTab tab, AnimationLevel level) {
         int newColor = tab.getBarColorWhenSelected();
 
         if (currentBackgroundColor == newColor) {
             return;
         }
 
-        if (!animate) {
+        if (level == AnimationLevel.INSTANT) {
+            outerContainer.finishReveal();
             outerContainer.setBackgroundColor(newColor);
+            currentBackgroundColor = newColor;
             return;
         }
 
-        View clickedView = tab;
-
-        if (tab.hasActiveBadge()) {
-            clickedView = tab.getOuterView();
+        if (level == AnimationLevel.CROSSFADE) {
+            outerContainer.startCrossfade(newColor);
+            currentBackgroundColor = newColor;
+            return;
         }
 
-        animateBGColorChange(clickedView, newColor);
-        currentBackgroundColor = newColor;
-    }
-
-    private void animateBGColorChange(View clickedView, final int newColor) {
-        prepareForBackgroundColorAnimation(newColor);
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            if (!outerContainer.isAttachedToWindow()) {
-                return;
-            }
+        int centerX;
+        int centerY;
 
-            backgroundCircularRevealAnimation(clickedView, newColor);
+        if (drawnTabStrip != null) {
+            centerX = drawnTabStrip.getTabCenterX(tab.getIndexInTabContainer());
+            centerY = drawnTabStrip.getHeight() / 2;
         } else {
-            backgroundCrossfadeAnimation(newColor);
+            centerX = (int) (ViewCompat.getX(tab) + (tab.getMeasuredWidth() / 2));
+            int yOffset = isTabletMode ? (int) ViewCompat.getY(tab) : 0;
+            centerY = yOffset + tab.getMeasuredHeight() / 2;
         }
-    }
-
-    private void prepareForBackgroundColorAnimation(int newColor) {
-        outerContainer.clearAnimation();
-        backgroundOverlay.clearAnimation();
 
-        backgroundOverlay.setBackgroundColor(newColor);
-        backgroundOverlay.setVisibility(View.VISIBLE);
+        outerContainer.startReveal(centerX, centerY, newColor);
+        currentBackgroundColor = newColor;
     }
 
-    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-    private void backgroundCircularRevealAnimation(View clickedView, final int newColor) {
-        int centerX = (int) (ViewCompat.getX(clickedView) + (clickedView.getMeasuredWidth() / 2));
-        int yOffset = isTabletMode ? (int) ViewCompat.getY(clickedView) : 0;
-        int centerY = yOffset + clickedView.getMeasuredHeight() / 2;
-        int startRadius = 0;
-        int finalRadius = isTabletMode ? outerContainer.getHeight() : outerContainer.getWidth();
-
-        Animator animator = ViewAnimationUtils.createCircularReveal(
-                backgroundOverlay,
-                centerX,
-                centerY,
-                startRadius,
-                finalRadius
-        );
+    private void onSelectionTransitionProgress(float fraction) {
+        if (tabStripLayout != null) {
+            tabStripLayout.setSelectionFraction(fraction);
+        }
 
-        if (isTabletMode) {
-            animator.setDuration(500);
+        if (drawnTabStrip != null) {
+            drawnTabStrip.setSelectionFraction(fraction);
         }
 
-        animator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                onEnd();
-            }
+        outerContainer.setRevealFraction(fraction);
+    }
 
-            @Override
-            public void onAnimationCancel(Animator animation) {
-                onEnd();
-            }
+    private void onSelectionTransitionEnd() {
+        if (tabStripLayout != null) {
+            tabStripLayout.setSelectionFraction(1);
+        }
 
-            private void onEnd() {
-                outerContainer.setBackgroundColor(newColor);
-                backgroundOverlay.setVisibility(View.INVISIBLE);
-                ViewCompat.setAlpha(backgroundOverlay, 1);
-            }
-        });
+        if (drawnTabStrip != null) {
+            drawnTabStrip.setSelectionFraction(1);
+        }
 
-        animator.start();
+        outerContainer.finishReveal();
+        metrics.onTransitionEnd();
+        frameMonitor.onTransitionEnd();
     }
 
-    private void backgroundCrossfadeAnimation(final int newColor) {
-        ViewCompat.setAlpha(backgroundOverlay, 0);
-        ViewCompat.animate(backgroundOverlay)
-                .alpha(1)
-                .setListener(new ViewPropertyAnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(View view) {
-                        onEnd();
-                    }
-
-                    @Override
-                    public void onAnimationCancel(View view) {
-                        onEnd();
-                    }
-
-                    private void onEnd() {
-                        outerContainer.setBackgroundColor(newColor);
-                        backgroundOverlay.setVisibility(View.INVISIBLE);
-                        ViewCompat.setAlpha(backgroundOverlay, 1);
-                    }
-                })
-                .start();
+    /**
+     * How richly selection changes are animated. The level is picked for every
+     * selection change, from the animator duration scale, power save mode and
+     * how smoothly earlier changes were drawn.
+     */
+    public enum AnimationLevel {
+        /**
+         * Everything animates, and the new bar color is revealed in a circle.
+         */
+        REVEAL,
+
+        /**
+         * The tabs animate but shifting tabs change their width right away,
+         * and the new bar color fades in.
+         */
+        CROSSFADE,
+
+        /**
+         * Nothing animates.
+         */
+        INSTANT
     }
 }
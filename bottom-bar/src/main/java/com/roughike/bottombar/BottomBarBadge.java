@@ -1,17 +1,24 @@
 package com.roughike.bottombar;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
 import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.ShapeDrawable;
-import android.os.Build;
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.v4.view.ViewCompat;
-import android.support.v4.view.ViewPropertyAnimatorListener;
+import android.support.annotation.VisibleForTesting;
 import android.support.v7.widget.AppCompatImageView;
-import android.support.v7.widget.AppCompatTextView;
-import android.view.Gravity;
-import android.view.ViewGroup;
-import android.view.ViewTreeObserver;
+import android.text.TextPaint;
+import android.util.TypedValue;
+import android.view.View;
 
 /*
  * BottomBar library for Android
@@ -30,12 +37,64 @@ import android.view.ViewTreeObserver;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-class BottomBarBadge extends AppCompatTextView {
+
+/**
+ * The badge of a {@link BottomBarTab}, drawn by the tab on top of its children.
+ * <p>
+ * The badge is not a View, so showing, hiding or changing it only invalidates
+ * the tab and never changes the view tree. The tab positions it from the bounds
+ * of its icon whenever it's laid out.
+ * <p>
+ * Count texts come from a {@link BadgeTextCache}, and the badge is sized by the
+ * number of digits it shows, so most count changes only redraw the badge's own area.
+ */
+class BottomBarBadge extends Drawable implements ValueAnimator.AnimatorUpdateListener {
+    private static final long ANIMATION_DURATION = 150;
+    private static final float X_OFFSET_RATIO = 1.25f;
+    private static final int Y_OFFSET = 10;
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+    private final Rect dirtyBounds = new Rect();
+    private final int innerPadding;
+
+    private ShapeDrawable backgroundCircle;
+    private int backgroundColor;
+    private BadgeTextCache textCache;
+
+    @Nullable
+    private ValueAnimator visibilityAnimator;
+
+    @Nullable
+    private Runnable endAction;
+
     private int count;
-    private boolean isVisible = false;
+    private String text = "";
+    private int left;
+    private int top;
+    private int alpha = 255;
+    private float visibleFraction = 1;
+    private float fromFraction;
+    private float toFraction;
+
+    BottomBarBadge(@NonNull Context context, int backgroundColor, int maxCount) {
+        innerPadding = MiscUtils.dpToPixel(context, 1);
 
-    BottomBarBadge(Context context) {
-        super(context);
+        TypedArray ta = context.obtainStyledAttributes(R.style.BB_BottomBarBadge_Text,
+                new int[]{android.R.attr.textSize, android.R.attr.textColor});
+
+        try {
+            textPaint.setTextSize(ta.getDimension(0, TypedValue.applyDimension(
+                    TypedValue.COMPLEX_UNIT_SP, 14, context.getResources().getDisplayMetrics())));
+            textPaint.setColor(ta.getColor(1, 0xFFFFFFFF));
+        } finally {
+            ta.recycle();
+        }
+
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textPaint.getFontMetrics(fontMetrics);
+        textCache = BadgeTextCache.get(textPaint, maxCount);
+        setColoredCircleBackground(backgroundColor);
     }
 
     /**
@@ -46,12 +105,20 @@ class BottomBarBadge extends AppCompatTextView {
      */
     void setCount(int count, boolean animate) {
         int oldCount = this.count;
+
+        if (count == oldCount) {
+            return;
+        }
+
         this.count = count;
-        setText(String.valueOf(count));
+        this.text = textCache.getText(count);
+
+        if (!updateBounds()) {
+            invalidateSelf();
+        }
+
         if (animate && oldCount == 0 && count > 0) {
-            setAlpha(0);
-            setScaleX(0);
-            setScaleY(0);
+            visibleFraction = 0;
             show();
         }
     }
@@ -69,116 +136,215 @@ class BottomBarBadge extends AppCompatTextView {
      * Shows the badge with a neat little scale animation.
      */
     void show() {
-        isVisible = true;
-        ViewCompat.animate(this)
-                .setDuration(150)
-                .alpha(1)
-                .scaleX(1)
-                .scaleY(1)
-                .start();
+        setVisible(true, false);
+        animateVisibleFraction(1, null);
     }
 
     /**
      * Hides the badge with a neat little scale animation.
+     *
+     * @param endAction run when the badge has been hidden, unless the
+     *                  animation is interrupted by showing it again.
      */
-    void hide(@Nullable ViewPropertyAnimatorListener listener) {
-        isVisible = false;
-        ViewCompat.animate(this)
-                .setDuration(150)
-                .alpha(0)
-                .scaleX(0)
-                .scaleY(0)
-                .setListener(listener)
-                .start();
+    void hide(@Nullable Runnable endAction) {
+        setVisible(false, false);
+        animateVisibleFraction(0, endAction);
     }
 
     void hide() {
         hide(null);
     }
 
+    void cancelAnimation() {
+        endAction = null;
+
+        if (visibilityAnimator != null) {
+            visibilityAnimator.cancel();
+        }
+    }
+
     /**
-     * Is this badge currently visible?
-     *
-     * @return true is this badge is visible, otherwise false.
+     * Sets the highest count shown as is; higher counts show as that count followed by a "+".
      */
-    boolean isVisible() {
-        return isVisible;
-    }
+    void setMaxCount(int maxCount) {
+        if (maxCount != textCache.getMaxCount()) {
+            textCache = BadgeTextCache.get(textPaint, maxCount);
+            text = textCache.getText(count);
 
-    void attachToTab(BottomBarTab tab, int backgroundColor) {
-        ViewGroup.LayoutParams params = new ViewGroup.LayoutParams(
-                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            if (!updateBounds()) {
+                invalidateSelf();
+            }
+        }
+    }
 
-        setLayoutParams(params);
-        setGravity(Gravity.CENTER);
-        MiscUtils.setTextAppearance(this, R.style.BB_BottomBarBadge_Text);
+    void setColoredCircleBackground(int circleColor) {
+        if (backgroundCircle != null && circleColor == backgroundColor) {
+            return;
+        }
 
-        setColoredCircleBackground(backgroundColor);
-        wrapTabAndBadgeInSameContainer(tab);
+        backgroundColor = circleColor;
+        backgroundCircle = BadgeCircle.make(innerPadding * 3, circleColor);
+        backgroundCircle.setBounds(getBounds());
+        invalidateSelf();
     }
 
-    void setColoredCircleBackground(int circleColor) {
-        int innerPadding = MiscUtils.dpToPixel(getContext(), 1);
-        ShapeDrawable backgroundCircle = BadgeCircle.make(innerPadding * 3, circleColor);
-        setPadding(innerPadding, innerPadding, innerPadding, innerPadding);
-        setBackgroundCompat(backgroundCircle);
+    /**
+     * Places the badge at the top right corner of the icon of the given tab.
+     */
+    void adjustPositionAndSize(@NonNull BottomBarTab tab) {
+        AppCompatImageView iconView = tab.getIconView();
+
+        if (iconView == null) {
+            return;
+        }
+
+        left = (int) (iconView.getLeft() + iconView.getWidth() / X_OFFSET_RATIO);
+        top = Y_OFFSET;
+        updateBounds();
     }
 
-    private void wrapTabAndBadgeInSameContainer(final BottomBarTab tab) {
-        ViewGroup tabContainer = (ViewGroup) tab.getParent();
-        tabContainer.removeView(tab);
+    /**
+     * Sizes the badge for its text and moves it to its position. If that
+     * changes its bounds, the old and new bounds are invalidated together.
+     *
+     * @return whether the bounds changed.
+     */
+    private boolean updateBounds() {
+        float textHeight = fontMetrics.descent - fontMetrics.ascent;
+        float textWidth = count > 0 ? textCache.getWidth(count) : 0;
+        int size = (int) Math.ceil(Math.max(textWidth, textHeight)) + innerPadding * 2;
+        Rect bounds = getBounds();
+
+        if (bounds.left == left && bounds.top == top && bounds.width() == size) {
+            return false;
+        }
 
-        final BadgeContainer badgeContainer = new BadgeContainer(getContext());
-        badgeContainer.setLayoutParams(new ViewGroup.LayoutParams(
-                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        dirtyBounds.set(bounds);
+        setBounds(left, top, left + size, top + size);
+        dirtyBounds.union(getBounds());
 
-        badgeContainer.addView(tab);
-        badgeContainer.addView(this);
+        Callback callback = getCallback();
 
-        tabContainer.addView(badgeContainer, tab.getIndexInTabContainer());
+        if (callback instanceof View) {
+            View view = (View) callback;
+            dirtyBounds.offset(view.getScrollX(), view.getScrollY());
+            view.invalidate(dirtyBounds);
+        } else {
+            invalidateSelf();
+        }
 
-        badgeContainer.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
-            @SuppressWarnings("deprecation")
-            @Override
-            public void onGlobalLayout() {
-                badgeContainer.getViewTreeObserver().removeGlobalOnLayoutListener(this);
-                adjustPositionAndSize(tab);
-            }
-        });
+        return true;
     }
 
-    void removeFromTab(BottomBarTab tab) {
-        BadgeContainer badgeAndTabContainer = (BadgeContainer) getParent();
-        ViewGroup originalTabContainer = (ViewGroup) badgeAndTabContainer.getParent();
+    private void animateVisibleFraction(float target, @Nullable Runnable endAction) {
+        cancelAnimation();
 
-        badgeAndTabContainer.removeView(tab);
-        originalTabContainer.removeView(badgeAndTabContainer);
-        originalTabContainer.addView(tab, tab.getIndexInTabContainer());
-    }
+        if (visibleFraction == target) {
+            if (endAction != null) {
+                endAction.run();
+            }
+            return;
+        }
 
-    void adjustPositionAndSize(BottomBarTab tab) {
-        AppCompatImageView iconView = tab.getIconView();
-        ViewGroup.LayoutParams params = getLayoutParams();
+        if (visibilityAnimator == null) {
+            visibilityAnimator = ValueAnimator.ofFloat(0, 1);
+            visibilityAnimator.setDuration(ANIMATION_DURATION);
+            visibilityAnimator.addUpdateListener(this);
+            visibilityAnimator.addListener(new AnimatorListenerAdapter() {
+                private boolean cancelled;
 
-        int size = Math.max(getWidth(), getHeight());
-        float xOffset = (float) (iconView.getWidth() / 1.25);
+                @Override
+                public void onAnimationStart(Animator animation) {
+                    cancelled = false;
+                }
 
-        setX(iconView.getX() + xOffset);
-        setTranslationY(10);
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    cancelled = true;
+                }
 
-        if (params.width != size || params.height != size) {
-            params.width = size;
-            params.height = size;
-            setLayoutParams(params);
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    Runnable action = BottomBarBadge.this.endAction;
+                    BottomBarBadge.this.endAction = null;
+
+                    if (!cancelled && action != null) {
+                        action.run();
+                    }
+                }
+            });
         }
+
+        this.endAction = endAction;
+        fromFraction = visibleFraction;
+        toFraction = target;
+        visibilityAnimator.start();
     }
 
-    @SuppressWarnings("deprecation")
-    private void setBackgroundCompat(Drawable background) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            setBackground(background);
-        } else {
-            setBackgroundDrawable(background);
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        float fraction = animation.getAnimatedFraction();
+        visibleFraction = fromFraction + (toFraction - fromFraction) * fraction;
+        invalidateSelf();
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        backgroundCircle.setBounds(bounds);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (visibleFraction <= 0) {
+            return;
         }
+
+        Rect bounds = getBounds();
+        float centerX = bounds.exactCenterX();
+        float centerY = bounds.exactCenterY();
+        int drawAlpha = Math.round(alpha * visibleFraction);
+
+        int saveCount = canvas.save();
+        canvas.scale(visibleFraction, visibleFraction, centerX, centerY);
+
+        backgroundCircle.setAlpha(drawAlpha);
+        backgroundCircle.draw(canvas);
+
+        textPaint.setAlpha(drawAlpha);
+        canvas.drawText(text, centerX, centerY - (fontMetrics.ascent + fontMetrics.descent) / 2, textPaint);
+
+        canvas.restoreToCount(saveCount);
+    }
+
+    @VisibleForTesting
+    ShapeDrawable getBackgroundCircle() {
+        return backgroundCircle;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return getBounds().width();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return getBounds().height();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        this.alpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        textPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
     }
 }
@@ -0,0 +1,233 @@
+package com.roughike.bottombar;
+
+import android.graphics.Typeface;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Changes several properties of all tabs of a {@link BottomBar} at once.
+ * <p>
+ * The setters only record the new values. {@link #apply()} then updates every
+ * tab in a single pass, skipping values a tab already has, and refreshes each
+ * tab once no matter how many of its properties changed:
+ * <pre>
+ * bottomBar.edit()
+ *         .setActiveTabColor(activeColor)
+ *         .setInActiveTabColor(inActiveColor)
+ *         .setBadgeBackgroundColor(badgeColor)
+ *         .apply();
+ * </pre>
+ * Get one with {@link BottomBar#edit()}.
+ */
+public final class BottomBarEditor {
+    static final int INACTIVE_ALPHA = 1;
+    static final int ACTIVE_ALPHA = 1 << 1;
+    static final int INACTIVE_COLOR = 1 << 2;
+    static final int ACTIVE_COLOR = 1 << 3;
+    static final int BADGE_BACKGROUND_COLOR = 1 << 4;
+    static final int BADGE_HIDES_WHEN_ACTIVE = 1 << 5;
+    static final int BADGE_MAX_COUNT = 1 << 6;
+    static final int ANIMATE_BADGE_COUNT = 1 << 7;
+    static final int TITLE_TEXT_APPEARANCE = 1 << 8;
+    static final int TITLE_TYPEFACE = 1 << 9;
+
+    private final BottomBar bottomBar;
+
+    private int setProperties;
+
+    float inActiveAlpha;
+    float activeAlpha;
+    int inActiveColor;
+    int activeColor;
+    int badgeBackgroundColor;
+    boolean badgeHidesWhenActive;
+    int badgeMaxCount;
+    boolean animateBadgeCount;
+    int titleTextAppearance;
+    Typeface titleTypeface;
+
+    BottomBarEditor(@NonNull BottomBar bottomBar) {
+        this.bottomBar = bottomBar;
+    }
+
+    /**
+     * Set alpha value used for inactive BottomBarTabs.
+     */
+    public BottomBarEditor setInActiveTabAlpha(float alpha) {
+        inActiveAlpha = alpha;
+        setProperties |= INACTIVE_ALPHA;
+        return this;
+    }
+
+    /**
+     * Set alpha value used for active BottomBarTabs.
+     */
+    public BottomBarEditor setActiveTabAlpha(float alpha) {
+        activeAlpha = alpha;
+        setProperties |= ACTIVE_ALPHA;
+        return this;
+    }
+
+    /**
+     * Set inactive color used for unselected BottomBarTabs.
+     */
+    public BottomBarEditor setInActiveTabColor(@ColorInt int color) {
+        inActiveColor = color;
+        setProperties |= INACTIVE_COLOR;
+        return this;
+    }
+
+    /**
+     * Set active color used for selected BottomBarTabs.
+     */
+    public BottomBarEditor setActiveTabColor(@ColorInt int color) {
+        activeColor = color;
+        setProperties |= ACTIVE_COLOR;
+        return this;
+    }
+
+    /**
+     * Set background color for the badge.
+     */
+    public BottomBarEditor setBadgeBackgroundColor(@ColorInt int color) {
+        badgeBackgroundColor = color;
+        setProperties |= BADGE_BACKGROUND_COLOR;
+        return this;
+    }
+
+    /**
+     * Controls whether the badge (if any) for active tabs
+     * should be hidden or not.
+     */
+    public BottomBarEditor setBadgesHideWhenActive(boolean hideWhenSelected) {
+        badgeHidesWhenActive = hideWhenSelected;
+        setProperties |= BADGE_HIDES_WHEN_ACTIVE;
+        return this;
+    }
+
+    /**
+     * Set the highest badge count shown as is. Higher counts are shown as
+     * this value followed by a "+", such as "99+".
+     */
+    public BottomBarEditor setBadgeMaxCount(int maxCount) {
+        badgeMaxCount = Math.max(maxCount, 1);
+        setProperties |= BADGE_MAX_COUNT;
+        return this;
+    }
+
+    /**
+     * Set animate first badge count for the badge
+     */
+    public BottomBarEditor setAnimateBadgeCount(boolean animate) {
+        animateBadgeCount = animate;
+        setProperties |= ANIMATE_BADGE_COUNT;
+        return this;
+    }
+
+    /**
+     * Set custom text apperance for all BottomBarTabs.
+     */
+    public BottomBarEditor setTabTitleTextAppearance(@StyleRes int textAppearance) {
+        titleTextAppearance = textAppearance;
+        setProperties |= TITLE_TEXT_APPEARANCE;
+        return this;
+    }
+
+    /**
+     * Set a custom typeface for all tab's titles.
+     */
+    public BottomBarEditor setTabTitleTypeface(@Nullable Typeface typeface) {
+        titleTypeface = typeface;
+        setProperties |= TITLE_TYPEFACE;
+        return this;
+    }
+
+    /**
+     * Applies the recorded changes to the BottomBar and all of its tabs. The
+     * editor can be reused afterwards, starting with no changes.
+     */
+    public void apply() {
+        if (setProperties != 0) {
+            bottomBar.applyEdit(this);
+            setProperties = 0;
+        }
+    }
+
+    boolean isSet(int property) {
+        return (setProperties & property) != 0;
+    }
+
+    /**
+     * Returns the properties of this edit whose values differ from the ones
+     * the given tab has.
+     */
+    int getDirtyProperties(@NonNull BottomBarTab tab) {
+        int dirty = 0;
+
+        if (isSet(INACTIVE_ALPHA) && tab.getInActiveAlpha() != inActiveAlpha) {
+            dirty |= INACTIVE_ALPHA;
+        }
+
+        if (isSet(ACTIVE_ALPHA) && tab.getActiveAlpha() != activeAlpha) {
+            dirty |= ACTIVE_ALPHA;
+        }
+
+        if (isSet(INACTIVE_COLOR) && tab.getInActiveColor() != inActiveColor) {
+            dirty |= INACTIVE_COLOR;
+        }
+
+        if (isSet(ACTIVE_COLOR) && tab.getActiveColor() != activeColor) {
+            dirty |= ACTIVE_COLOR;
+        }
+
+        if (isSet(BADGE_BACKGROUND_COLOR) && tab.getBadgeBackgroundColor() != badgeBackgroundColor) {
+            dirty |= BADGE_BACKGROUND_COLOR;
+        }
+
+        if (isSet(BADGE_HIDES_WHEN_ACTIVE) && tab.getBadgeHidesWhenActive() != badgeHidesWhenActive) {
+            dirty |= BADGE_HIDES_WHEN_ACTIVE;
+        }
+
+        if (isSet(BADGE_MAX_COUNT) && tab.getBadgeMaxCount() != badgeMaxCount) {
+            dirty |= BADGE_MAX_COUNT;
+        }
+
+        if (isSet(ANIMATE_BADGE_COUNT) && tab.isAnimateBadgeCount() != animateBadgeCount) {
+            dirty |= ANIMATE_BADGE_COUNT;
+        }
+
+        if (isSet(TITLE_TEXT_APPEARANCE) && tab.getTitleTextAppearance() != titleTextAppearance) {
+            dirty |= TITLE_TEXT_APPEARANCE;
+        }
+
+        if (isSet(TITLE_TYPEFACE) && !equal(tab.getTitleTypeFace(), titleTypeface)) {
+            dirty |= TITLE_TYPEFACE;
+        }
+
+        return dirty;
+    }
+
+    private static boolean equal(@Nullable Object a, @Nullable Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,249 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.NonNull;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Latency of tab changes made by the user, split into phases.
+ * <p>
+ * Every phase keeps a {@link Snapshot histogram} of its durations, so the time
+ * spent in your {@link OnTabSelectListener} can be compared with the time the
+ * BottomBar spends on its own. Only tab changes started by a click are measured,
+ * and recording a tab change doesn't allocate anything. The frame after the
+ * transition is only seen on API 16 and up, so the {@link Phase#FIRST_FRAME}
+ * and {@link Phase#TOTAL} phases stay empty below that.
+ * <p>
+ * Get the metrics of a BottomBar with {@link BottomBar#getMetrics()}. They must
+ * only be used from the main thread.
+ */
+public final class BottomBarMetrics {
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    private boolean hasTouchDown;
+    private long touchDownNanos;
+
+    private boolean isRecording;
+    private boolean isTouch;
+    private boolean isListenerDone;
+    private boolean isTransitionDone;
+    private long downNanos;
+    private long clickNanos;
+    private long listenerStartNanos;
+    private long listenerEndNanos;
+    private long transitionEndNanos;
+
+    BottomBarMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Get a copy of the durations recorded so far for the given phase.
+     */
+    @NonNull
+    public Snapshot getSnapshot(@NonNull Phase phase) {
+        return new Snapshot(new LatencyHistogram(histograms[phase.ordinal()]));
+    }
+
+    /**
+     * Forget the durations recorded so far for every phase.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    void onTouchDown() {
+        hasTouchDown = true;
+        touchDownNanos = System.nanoTime();
+    }
+
+    /**
+     * Forgets the touch down of a gesture that ended without a click, so a
+     * later click from a key or accessibility action isn't timed from it.
+     */
+    void onTouchEnd() {
+        hasTouchDown = false;
+    }
+
+    /**
+     * Starts measuring a tab change, abandoning one that didn't finish.
+     */
+    void onClick() {
+        long now = System.nanoTime();
+
+        isRecording = true;
+        isTouch = hasTouchDown;
+        isListenerDone = false;
+        isTransitionDone = false;
+        downNanos = touchDownNanos;
+        clickNanos = now;
+        hasTouchDown = false;
+
+        if (isTouch) {
+            record(Phase.TOUCH_TO_CLICK, now - downNanos);
+        }
+    }
+
+    void onListenerStart() {
+        if (isRecording && !isListenerDone) {
+            listenerStartNanos = System.nanoTime();
+            record(Phase.SELECTION, listenerStartNanos - clickNanos);
+        }
+    }
+
+    void onListenerEnd() {
+        if (isRecording && !isListenerDone) {
+            long now = System.nanoTime();
+            isListenerDone = true;
+            listenerEndNanos = now;
+            record(Phase.LISTENER, now - listenerStartNanos);
+        }
+    }
+
+    void onTransitionEnd() {
+        if (isRecording && !isTransitionDone) {
+            isTransitionDone = true;
+            transitionEndNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Finishes the tab change being measured, if both the listener and the
+     * transition are done.
+     */
+    void onFrameAfterTransition() {
+        if (!isRecording || !isListenerDone || !isTransitionDone) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long settledNanos = Math.max(listenerEndNanos, transitionEndNanos);
+        isRecording = false;
+
+        record(Phase.TRANSITION, settledNanos - listenerEndNanos);
+        record(Phase.FIRST_FRAME, now - settledNanos);
+
+        if (isTouch) {
+            record(Phase.TOTAL, now - downNanos);
+        }
+    }
+
+    /**
+     * Stops measuring the current tab change without recording the rest of it.
+     */
+    void cancel() {
+        isRecording = false;
+    }
+
+    private void record(@NonNull Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * The phases of a tab change, in the order they happen.
+     */
+    public enum Phase {
+        /**
+         * From the finger touching the BottomBar to the click on a tab, which
+         * happens when the finger is lifted. Not recorded for clicks without a
+         * touch, such as ones from a keyboard.
+         */
+        TOUCH_TO_CLICK,
+
+        /**
+         * From the click to calling {@link OnTabSelectListener#onTabSelected(int)},
+         * which is the work the BottomBar does to start the tab change.
+         */
+        SELECTION,
+
+        /**
+         * The time spent in {@link OnTabSelectListener#onTabSelected(int)}.
+         */
+        LISTENER,
+
+        /**
+         * From the listener returning to the end of the selection transition.
+         * Zero if the transition ended before the listener returned.
+         */
+        TRANSITION,
+
+        /**
+         * From the end of both the listener and the transition to the start of
+         * the next frame, which draws the final state.
+         */
+        FIRST_FRAME,
+
+        /**
+         * From the finger touching the BottomBar to the first frame after the
+         * tab change. Not recorded for clicks without a touch.
+         */
+        TOTAL
+    }
+
+    /**
+     * An immutable copy of the durations recorded for one {@link Phase}.
+     * Percentiles are accurate to within 25%.
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram histogram;
+
+        Snapshot(@NonNull LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        public long getMinNanos() {
+            return histogram.getMinNanos();
+        }
+
+        public long getMaxNanos() {
+            return histogram.getMaxNanos();
+        }
+
+        public long getMeanNanos() {
+            return histogram.getMeanNanos();
+        }
+
+        /**
+         * Get the duration that the given percentage of the recorded durations
+         * didn't exceed, or 0 if nothing was recorded.
+         *
+         * @param percentile the percentile, from 0 to 100.
+         */
+        public long getPercentileNanos(double percentile) {
+            return histogram.getPercentileNanos(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{count=" + getCount()
+                    + ", p50=" + getPercentileNanos(50)
+                    + ", p90=" + getPercentileNanos(90)
+                    + ", p99=" + getPercentileNanos(99)
+                    + ", max=" + getMaxNanos() + "}";
+        }
+    }
+}
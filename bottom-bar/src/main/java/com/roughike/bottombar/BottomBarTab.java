@@ -1,21 +1,22 @@
 package com.roughike.bottombar;
 
-import android.animation.ArgbEvaluator;
-import android.animation.ValueAnimator;
 import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
 import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
 import android.graphics.drawable.StateListDrawable;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.view.ViewCompat;
-import android.support.v4.view.ViewPropertyAnimatorCompat;
-import android.support.v4.view.ViewPropertyAnimatorListener;
 import android.support.v7.widget.AppCompatImageView;
-import android.util.Log;
+import android.support.v7.widget.AppCompatTextView;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -43,17 +44,19 @@ public class BottomBarTab extends LinearLayout {
     @VisibleForTesting
     static final String STATE_BADGE_COUNT = "STATE_BADGE_COUNT_FOR_TAB_";
 
-    private static final long ANIMATION_DURATION = 150;
     private static final float ACTIVE_TITLE_SCALE = 1;
     private static final float INACTIVE_FIXED_TITLE_SCALE = 0.86f;
     private static final float INACTIVE_FIXED_TITLE_NO_SCALE = 1f;
     private static final float ACTIVE_SHIFTING_TITLELESS_ICON_SCALE = 1.24f;
     private static final float ACTIVE_SHIFTING_TITLELESS_ICON_NO_SCALE = 1f;
     private static final float INACTIVE_SHIFTING_TITLELESS_ICON_SCALE = 1f;
+    private static final float DEFAULT_SHIFTING_ICON_ALPHA = 0.6f;
+    static final int DEFAULT_BADGE_MAX_COUNT = 99;
 
     private final int sixDps;
     private final int eightDps;
     private final int sixteenDps;
+    private final int twentyDps;
 
     @VisibleForTesting
     BottomBarBadge badge;
@@ -77,6 +80,19 @@ public class BottomBarTab extends LinearLayout {
     private int titleTextAppearanceResId;
     private Typeface titleTypeFace;
     private boolean animateBadgeCount;
+    private int badgeMaxCount = DEFAULT_BADGE_MAX_COUNT;
+
+    @Nullable
+    private DrawnTabStrip drawnStrip;
+    private int drawnBadgeCount;
+    @Nullable
+    private Type builtType;
+
+    private final TabAnimationState animationState = new TabAnimationState();
+
+    private int contentOffsetY;
+    private int currentColor;
+    private boolean showBadgeOnTransitionEnd;
 
     BottomBarTab(Context context) {
         super(context);
@@ -84,6 +100,7 @@ public class BottomBarTab extends LinearLayout {
         sixDps = MiscUtils.dpToPixel(context, 6);
         eightDps = MiscUtils.dpToPixel(context, 8);
         sixteenDps = MiscUtils.dpToPixel(context, 16);
+        twentyDps = MiscUtils.dpToPixel(context, 20);
     }
 
     void setConfig(@NonNull Config config) {
@@ -97,53 +114,252 @@ public class BottomBarTab extends LinearLayout {
         setTitleTextAppearance(config.titleTextAppearance);
         setTitleTypeface(config.titleTypeFace);
         setAnimateBadgeCount(config.animateBadgeCount);
+        setBadgeMaxCount(config.badgeMaxCount);
+    }
+
+    void bindSpec(@NonNull TabSpec spec) {
+        setId(spec.getId());
+        setIconResId(spec.getIconResId());
+        setTitle(spec.getTitle());
+
+        if (spec.getInActiveColor() != null) {
+            setInActiveColor(spec.getInActiveColor());
+        }
+
+        if (spec.getActiveColor() != null) {
+            setActiveColor(spec.getActiveColor());
+        }
+
+        if (spec.getBarColorWhenSelected() != null) {
+            setBarColorWhenSelected(spec.getBarColorWhenSelected());
+        }
+
+        if (spec.getBadgeBackgroundColor() != null) {
+            setBadgeBackgroundColor(spec.getBadgeBackgroundColor());
+        }
+
+        if (spec.getBadgeHidesWhenActive() != null) {
+            setBadgeHidesWhenActive(spec.getBadgeHidesWhenActive());
+        }
+
+        setIsTitleless(spec.isTitleless());
     }
 
     void prepareLayout() {
-        inflate(getContext(), getLayoutResource(), this);
-        setOrientation(VERTICAL);
+        // Tabs coming from a TabViewPool already have their children and only need rebinding.
+        if (builtType != type) {
+            removeAllViews();
+            setOrientation(VERTICAL);
+            setBackgroundResource(MiscUtils.getDrawableRes(getContext(), R.attr.selectableItemBackgroundBorderless));
+
+            if (type == Type.TABLET) {
+                setPadding(twentyDps, sixteenDps, twentyDps, sixteenDps);
+            } else {
+                setPadding(0, 0, 0, 0);
+            }
+
+            iconView = createIconView();
+            builtType = type;
+        }
+
         setGravity(isTitleless ? Gravity.CENTER : Gravity.CENTER_HORIZONTAL);
-        setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        setBackgroundResource(MiscUtils.getDrawableRes(getContext(), R.attr.selectableItemBackgroundBorderless));
 
-        iconView = (AppCompatImageView) findViewById(R.id.bb_bottom_bar_icon);
+        if (getLayoutParams() == null) {
+            // The TabStripLayout sizes phone tabs itself; they fill whatever wraps them.
+            setLayoutParams(type == Type.TABLET
+                    ? createTabletLayoutParams()
+                    : new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        }
+
         iconView.setImageResource(iconResId);
         hasStateList = iconView.getDrawable() instanceof StateListDrawable;
 
-        if (type != Type.TABLET && !isTitleless) {
-            titleView = (TextView) findViewById(R.id.bb_bottom_bar_title);
-            titleView.setVisibility(VISIBLE);
+        TextView title = (TextView) findViewById(R.id.bb_bottom_bar_title);
 
-            if (type == Type.SHIFTING) {
-                findViewById(R.id.spacer).setVisibility(VISIBLE);
+        if (type != Type.TABLET && !isTitleless) {
+            if (title == null) {
+                title = createTitleView();
             }
 
+            titleView = title;
+            titleView.setVisibility(VISIBLE);
             updateTitle();
+        } else {
+            titleView = null;
+
+            if (title != null) {
+                title.setVisibility(GONE);
+            }
         }
 
         updateCustomTextAppearance();
         updateCustomTypeface();
     }
 
-    @VisibleForTesting
-    int getLayoutResource() {
-        int layoutResource;
-        switch (type) {
-            case FIXED:
-            case NO_SCALING:
-                layoutResource = R.layout.bb_bottom_bar_item_fixed;
-                break;
-            case SHIFTING:
-                layoutResource = R.layout.bb_bottom_bar_item_shifting;
-                break;
-            case TABLET:
-                layoutResource = R.layout.bb_bottom_bar_item_fixed_tablet;
-                break;
-            default:
-                // should never happen
-                throw new RuntimeException("Unknown BottomBarTab type.");
-        }
-        return layoutResource;
+    private AppCompatImageView createIconView() {
+        AppCompatImageView icon = new AppCompatImageView(getContext());
+        icon.setId(R.id.bb_bottom_bar_icon);
+
+        LayoutParams params = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+
+        if (type == Type.SHIFTING) {
+            ViewCompat.setAlpha(icon, DEFAULT_SHIFTING_ICON_ALPHA);
+        } else if (type != Type.TABLET) {
+            params.gravity = Gravity.TOP | Gravity.CENTER_HORIZONTAL;
+        }
+
+        addView(icon, params);
+        return icon;
+    }
+
+    private LayoutParams createTabletLayoutParams() {
+        TypedArray ta = getContext().obtainStyledAttributes(R.style.BB_BottomBarItem_Tablet,
+                new int[]{android.R.attr.layout_width, android.R.attr.layout_height});
+
+        try {
+            return new LayoutParams(
+                    ta.getLayoutDimension(0, LayoutParams.WRAP_CONTENT),
+                    ta.getLayoutDimension(1, LayoutParams.WRAP_CONTENT));
+        } finally {
+            ta.recycle();
+        }
+    }
+
+    @StyleRes
+    private int getDefaultTitleAppearance() {
+        return type == Type.SHIFTING
+                ? R.style.BB_BottomBarItem_Shifting_TitleAppearance
+                : R.style.BB_BottomBarItem_Fixed_TitleAppearance;
+    }
+
+    /**
+     * Creates the title view. Only tabs that show a title get one.
+     */
+    private TextView createTitleView() {
+        boolean isShifting = type == Type.SHIFTING;
+        TextView title = new AppCompatTextView(getContext());
+        title.setId(R.id.bb_bottom_bar_title);
+        applyTitleStyle(title);
+        MiscUtils.setTextAppearance(title, getDefaultTitleAppearance());
+
+        LayoutParams params = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+
+        if (!isShifting) {
+            params.gravity = Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL;
+            params.topMargin = getResources().getDimensionPixelSize(R.dimen.bb_tab_title_margin);
+        }
+
+        addView(title, params);
+        return title;
+    }
+
+    private void applyTitleStyle(TextView title) {
+        // Attributes sorted by id, as obtainStyledAttributes expects.
+        TypedArray ta = getContext().obtainStyledAttributes(R.style.BB_BottomBarItem_TitleStyle,
+                new int[]{android.R.attr.gravity, android.R.attr.maxLines, android.R.attr.singleLine});
+
+        try {
+            title.setSingleLine(ta.getBoolean(2, true));
+            title.setMaxLines(ta.getInt(1, 1));
+            title.setGravity(ta.getInt(0, Gravity.CENTER_HORIZONTAL));
+        } finally {
+            ta.recycle();
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+
+        // Shifting titles sit at the bottom of the tab, below the free space
+        // left by the icon. Moving them here saves LinearLayout a weighted pass.
+        if (type == Type.SHIFTING && titleView != null && titleView.getVisibility() == VISIBLE) {
+            int bottom = getHeight() - getPaddingBottom()
+                    - ((LayoutParams) titleView.getLayoutParams()).bottomMargin;
+            titleView.offsetTopAndBottom(bottom - titleView.getBottom());
+        }
+
+        if (badge != null) {
+            badge.adjustPositionAndSize(this);
+        }
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        if (badge != null) {
+            badge.draw(canvas);
+        }
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == badge || super.verifyDrawable(who);
+    }
+
+    /**
+     * Let the given strip draw this tab instead of creating child views for it.
+     * This tab then only holds the state and forwards changes to the strip.
+     */
+    void attachToStrip(@NonNull DrawnTabStrip strip) {
+        drawnStrip = strip;
+    }
+
+    boolean isDrawn() {
+        return drawnStrip != null;
+    }
+
+    int getDrawnBadgeCount() {
+        return drawnBadgeCount;
+    }
+
+    private void invalidateDrawnTab() {
+        if (drawnStrip != null) {
+            drawnStrip.onTabChanged(this);
+        }
+    }
+
+    /**
+     * Resets the state this tab got from its previous BottomBar items, so that
+     * a {@link TabViewPool} can hand it out again. Must be called while the tab
+     * is still in its tab container.
+     */
+    void recycle() {
+        if (badge != null) {
+            removeBadgeView();
+        }
+
+        showBadgeOnTransitionEnd = false;
+
+        if (iconView != null) {
+            setContentOffsetY(0);
+            ViewCompat.setScaleX(iconView, 1);
+            ViewCompat.setScaleY(iconView, 1);
+            iconView.setPadding(iconView.getPaddingLeft(), 0,
+                    iconView.getPaddingRight(), iconView.getPaddingBottom());
+        }
+
+        // The next config may have no custom appearance or typeface, and then
+        // doesn't touch the title at all.
+        if (titleView != null) {
+            MiscUtils.setTextAppearance(titleView, getDefaultTitleAppearance());
+            titleView.setTypeface(Typeface.DEFAULT);
+            titleView.setTag(R.id.bb_bottom_bar_appearance_id, null);
+        }
+
+        isActive = false;
+        setOnClickListener(null);
+        setOnLongClickListener(null);
+    }
+
+    /**
+     * Returns the type this tab's children were created for, or null if
+     * they haven't been created yet.
+     */
+    @Nullable
+    Type getBuiltType() {
+        return builtType;
     }
 
     private void updateTitle() {
@@ -209,6 +425,7 @@ public class BottomBarTab extends LinearLayout {
 
     void setIconResId(int iconResId) {
         this.iconResId = iconResId;
+        invalidateDrawnTab();
     }
 
     TextView getTitleView() {
@@ -222,6 +439,7 @@ public class BottomBarTab extends LinearLayout {
     public void setTitle(String title) {
         this.title = title;
         updateTitle();
+        invalidateDrawnTab();
     }
 
     public float getInActiveAlpha() {
@@ -234,6 +452,8 @@ public class BottomBarTab extends LinearLayout {
         if (!isActive) {
             setAlphas(inActiveAlpha);
         }
+
+        invalidateDrawnTab();
     }
 
     public float getActiveAlpha() {
@@ -246,6 +466,8 @@ public class BottomBarTab extends LinearLayout {
         if (isActive) {
             setAlphas(activeAlpha);
         }
+
+        invalidateDrawnTab();
     }
 
     public int getInActiveColor() {
@@ -258,6 +480,8 @@ public class BottomBarTab extends LinearLayout {
         if (!isActive) {
             setColors(inActiveColor);
         }
+
+        invalidateDrawnTab();
     }
 
     public int getActiveColor() {
@@ -270,6 +494,8 @@ public class BottomBarTab extends LinearLayout {
         if (isActive) {
             setColors(activeColor);
         }
+
+        invalidateDrawnTab();
     }
 
     public boolean isAnimateBadgeCount() {
@@ -280,6 +506,24 @@ public class BottomBarTab extends LinearLayout {
         this.animateBadgeCount = animateFirstBadgeCount;
     }
 
+    public int getBadgeMaxCount() {
+        return badgeMaxCount;
+    }
+
+    /**
+     * Set the highest badge count shown as is. Higher counts are shown as
+     * this value followed by a "+", such as "99+".
+     */
+    public void setBadgeMaxCount(int badgeMaxCount) {
+        this.badgeMaxCount = Math.max(badgeMaxCount, 1);
+
+        if (badge != null) {
+            badge.setMaxCount(this.badgeMaxCount);
+        }
+
+        invalidateDrawnTab();
+    }
+
     public int getBarColorWhenSelected() {
         return barColorWhenSelected;
     }
@@ -298,6 +542,8 @@ public class BottomBarTab extends LinearLayout {
         if (badge != null) {
             badge.setColoredCircleBackground(badgeBackgroundColor);
         }
+
+        invalidateDrawnTab();
     }
 
     public boolean getBadgeHidesWhenActive() {
@@ -306,16 +552,96 @@ public class BottomBarTab extends LinearLayout {
 
     public void setBadgeHidesWhenActive(boolean hideWhenActive) {
         this.badgeHidesWhenActive = hideWhenActive;
+        invalidateDrawnTab();
     }
 
-    int getCurrentDisplayedIconColor() {
-        Object tag = iconView.getTag(R.id.bb_bottom_bar_color_id);
+    /**
+     * Applies the given properties of an edit, refreshing the views and the
+     * drawn tab strip once for all of them.
+     *
+     * @param dirty the {@link BottomBarEditor} properties to apply.
+     */
+    void applyEdit(int dirty, @NonNull BottomBarEditor edit) {
+        if (dirty == 0) {
+            return;
+        }
 
-        if (tag instanceof Integer) {
-            return (int) tag;
+        if ((dirty & BottomBarEditor.INACTIVE_ALPHA) != 0) {
+            inActiveAlpha = edit.inActiveAlpha;
         }
 
-        return 0;
+        if ((dirty & BottomBarEditor.ACTIVE_ALPHA) != 0) {
+            activeAlpha = edit.activeAlpha;
+        }
+
+        if ((dirty & BottomBarEditor.INACTIVE_COLOR) != 0) {
+            inActiveColor = edit.inActiveColor;
+        }
+
+        if ((dirty & BottomBarEditor.ACTIVE_COLOR) != 0) {
+            activeColor = edit.activeColor;
+        }
+
+        if ((dirty & BottomBarEditor.BADGE_BACKGROUND_COLOR) != 0) {
+            badgeBackgroundColor = edit.badgeBackgroundColor;
+        }
+
+        if ((dirty & BottomBarEditor.BADGE_HIDES_WHEN_ACTIVE) != 0) {
+            badgeHidesWhenActive = edit.badgeHidesWhenActive;
+        }
+
+        if ((dirty & BottomBarEditor.BADGE_MAX_COUNT) != 0) {
+            badgeMaxCount = edit.badgeMaxCount;
+        }
+
+        if ((dirty & BottomBarEditor.ANIMATE_BADGE_COUNT) != 0) {
+            animateBadgeCount = edit.animateBadgeCount;
+        }
+
+        if ((dirty & BottomBarEditor.TITLE_TEXT_APPEARANCE) != 0) {
+            titleTextAppearanceResId = edit.titleTextAppearance;
+        }
+
+        if ((dirty & BottomBarEditor.TITLE_TYPEFACE) != 0) {
+            titleTypeFace = edit.titleTypeface;
+        }
+
+        // Only the values for the current state are visible right away.
+        int visibleAlpha = isActive ? BottomBarEditor.ACTIVE_ALPHA : BottomBarEditor.INACTIVE_ALPHA;
+        int visibleColor = isActive ? BottomBarEditor.ACTIVE_COLOR : BottomBarEditor.INACTIVE_COLOR;
+
+        if ((dirty & visibleAlpha) != 0) {
+            setAlphas(isActive ? activeAlpha : inActiveAlpha);
+        }
+
+        if ((dirty & visibleColor) != 0) {
+            setColors(isActive ? activeColor : inActiveColor);
+        }
+
+        if (badge != null) {
+            if ((dirty & BottomBarEditor.BADGE_BACKGROUND_COLOR) != 0) {
+                badge.setColoredCircleBackground(badgeBackgroundColor);
+            }
+
+            if ((dirty & BottomBarEditor.BADGE_MAX_COUNT) != 0) {
+                badge.setMaxCount(badgeMaxCount);
+            }
+        }
+
+        if ((dirty & BottomBarEditor.TITLE_TEXT_APPEARANCE) != 0) {
+            updateCustomTextAppearance();
+        }
+
+        // A text appearance can bring its own typeface, so the custom one goes on top.
+        if ((dirty & (BottomBarEditor.TITLE_TEXT_APPEARANCE | BottomBarEditor.TITLE_TYPEFACE)) != 0) {
+            updateCustomTypeface();
+        }
+
+        invalidateDrawnTab();
+    }
+
+    int getCurrentDisplayedIconColor() {
+        return hasStateList ? 0 : currentColor;
     }
 
     int getCurrentDisplayedTitleColor() {
@@ -337,25 +663,22 @@ public class BottomBarTab extends LinearLayout {
     }
 
     public void setBadgeCount(int count) {
-        if (count <= 0) {
-            if (badge != null) {
-                if (animateBadgeCount) {
-                    badge.setAlpha(1);
-                    badge.setScaleX(1);
-                    badge.setScaleY(1);
-                    badge.hide(new ViewPropertyAnimatorListener() {
-                        @Override
-                        public void onAnimationStart(View view) {
-
-                        }
+        setBadgeCount(count, animateBadgeCount);
+    }
 
-                        @Override
-                        public void onAnimationEnd(View view) {
-                            removeBadgeView();
-                        }
+    void setBadgeCount(int count, boolean animate) {
+        if (drawnStrip != null) {
+            drawnBadgeCount = Math.max(count, 0);
+            invalidateDrawnTab();
+            return;
+        }
 
+        if (count <= 0) {
+            if (badge != null) {
+                if (animate) {
+                    badge.hide(new Runnable() {
                         @Override
-                        public void onAnimationCancel(View view) {
+                        public void run() {
                             removeBadgeView();
                         }
                     });
@@ -368,21 +691,28 @@ public class BottomBarTab extends LinearLayout {
         }
 
         if (badge == null) {
-            badge = new BottomBarBadge(getContext());
-            badge.attachToTab(this, badgeBackgroundColor);
+            badge = new BottomBarBadge(getContext(), badgeBackgroundColor, badgeMaxCount);
+            badge.setCallback(this);
+            badge.adjustPositionAndSize(this);
         }
 
-        badge.setCount(count, animateBadgeCount);
+        badge.setCount(count, animate);
 
         if (isActive && badgeHidesWhenActive) {
             badge.hide();
+        } else if (!badge.isVisible()) {
+            badge.show();
         }
+
+        invalidate();
     }
 
     private void removeBadgeView() {
         if (badge != null) {
-            badge.removeFromTab(this);
+            badge.cancelAnimation();
+            badge.setCallback(null);
             badge = null;
+            invalidate();
         }
     }
 
@@ -394,8 +724,16 @@ public class BottomBarTab extends LinearLayout {
         return isActive;
     }
 
+    int getBadgeCount() {
+        if (drawnStrip != null) {
+            return drawnBadgeCount;
+        }
+
+        return badge != null ? badge.getCount() : 0;
+    }
+
     boolean hasActiveBadge() {
-        return badge != null;
+        return badge != null || drawnBadgeCount > 0;
     }
 
     int getIndexInTabContainer() {
@@ -418,11 +756,13 @@ public class BottomBarTab extends LinearLayout {
     void setTitleTextAppearance(int resId) {
         this.titleTextAppearanceResId = resId;
         updateCustomTextAppearance();
+        invalidateDrawnTab();
     }
 
     public void setTitleTypeface(Typeface typeface) {
         this.titleTypeFace = typeface;
         updateCustomTypeface();
+        invalidateDrawnTab();
     }
 
     public Typeface getTitleTypeFace() {
@@ -432,23 +772,17 @@ public class BottomBarTab extends LinearLayout {
     void select(boolean animate) {
         isActive = true;
 
-        boolean isNotScaling = type == Type.NO_SCALING;
-
-        float iconScaling;
-        if (isNotScaling) {
-            iconScaling = ACTIVE_SHIFTING_TITLELESS_ICON_NO_SCALE;
-        } else {
-            iconScaling = ACTIVE_SHIFTING_TITLELESS_ICON_SCALE;
+        if (drawnStrip != null) {
+            drawnStrip.onTabSelected(this, animate);
+            return;
         }
 
         if (animate) {
-            animateIcon(activeAlpha, iconScaling);
-            animateTitle(sixDps, ACTIVE_TITLE_SCALE, activeAlpha);
-            animateColors(inActiveColor, activeColor);
+            prepareSelectionTransition();
         } else {
             setTitleScale(ACTIVE_TITLE_SCALE);
             setTopPadding(sixDps);
-            setIconScale(iconScaling);
+            setIconScale(getActiveIconScale());
             setColors(activeColor);
             setAlphas(activeAlpha);
         }
@@ -463,27 +797,16 @@ public class BottomBarTab extends LinearLayout {
     void deselect(boolean animate) {
         isActive = false;
 
-        boolean isShifting = type == Type.SHIFTING;
-        boolean isNotScaling = type == Type.NO_SCALING;
-
-        float titleScale;
-        int iconPaddingTop;
-
-        if (isNotScaling) {
-            iconPaddingTop = sixDps;
-            titleScale = INACTIVE_FIXED_TITLE_NO_SCALE;
-        } else {
-            iconPaddingTop = isShifting ? sixteenDps : eightDps;
-            titleScale = isShifting ? 0 : INACTIVE_FIXED_TITLE_SCALE;
+        if (drawnStrip != null) {
+            drawnStrip.invalidate();
+            return;
         }
 
         if (animate) {
-            animateTitle(iconPaddingTop, titleScale, inActiveAlpha);
-            animateIcon(inActiveAlpha, INACTIVE_SHIFTING_TITLELESS_ICON_SCALE);
-            animateColors(activeColor, inActiveColor);
+            prepareSelectionTransition();
         } else {
-            setTitleScale(titleScale);
-            setTopPadding(iconPaddingTop);
+            setTitleScale(getInActiveTitleScale());
+            setTopPadding(getInActiveIconPaddingTop());
             setIconScale(INACTIVE_SHIFTING_TITLELESS_ICON_SCALE);
             setColors(inActiveColor);
             setAlphas(inActiveAlpha);
@@ -491,153 +814,159 @@ public class BottomBarTab extends LinearLayout {
 
         setSelected(false);
 
-        if (!isShifting && badge != null && !badge.isVisible()) {
+        if (type != Type.SHIFTING && badge != null && !badge.isVisible()) {
             badge.show();
         }
     }
 
-    private void animateColors(int previousColor, int color) {
-        ValueAnimator anim = new ValueAnimator();
-        anim.setIntValues(previousColor, color);
-        anim.setEvaluator(new ArgbEvaluator());
-        anim.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                setColors((Integer) valueAnimator.getAnimatedValue());
-            }
-        });
+    private float getActiveIconScale() {
+        return type == Type.NO_SCALING
+                ? ACTIVE_SHIFTING_TITLELESS_ICON_NO_SCALE
+                : ACTIVE_SHIFTING_TITLELESS_ICON_SCALE;
+    }
+
+    private float getInActiveTitleScale() {
+        if (type == Type.NO_SCALING) {
+            return INACTIVE_FIXED_TITLE_NO_SCALE;
+        }
 
-        anim.setDuration(150);
-        anim.start();
+        return type == Type.SHIFTING ? 0 : INACTIVE_FIXED_TITLE_SCALE;
     }
 
-    private void setColors(int color) {
-        if (iconView != null) {
-            if (hasStateList) {
-                Log.d("BottomBar", "setColors hasStateList: " + hasStateList);
-                iconView.setSelected(isActive);
-            } else {
-                Log.d("BottomBar", "setColors setColorFilter: " + color);
-                iconView.setColorFilter(color);
-                iconView.setTag(R.id.bb_bottom_bar_color_id, color);
-            }
+    private int getInActiveIconPaddingTop() {
+        if (type == Type.NO_SCALING) {
+            return sixDps;
         }
 
-        if (titleView != null) {
-            titleView.setTextColor(color);
+        return type == Type.SHIFTING ? sixteenDps : eightDps;
+    }
+
+    /**
+     * Captures what the tab currently shows as the start of a selection
+     * transition towards its selected or unselected look. Calling this again
+     * while a transition runs retargets it from the current on-screen state.
+     * The transition itself is driven by the {@link SelectionTransition} of the
+     * BottomBar, through {@link #applySelectionTransition(float)}.
+     */
+    void prepareSelectionTransition() {
+        if (drawnStrip != null || iconView == null) {
+            return;
+        }
+
+        float titleScale = isActive ? ACTIVE_TITLE_SCALE : getInActiveTitleScale();
+
+        animationState
+                .color(currentColor, isActive ? activeColor : inActiveColor)
+                .alpha(ViewCompat.getAlpha(iconView), isActive ? activeAlpha : inActiveAlpha)
+                .titleScale(titleView != null ? ViewCompat.getScaleX(titleView) : titleScale, titleScale)
+                .iconScale(ViewCompat.getScaleX(iconView),
+                        isActive ? getActiveIconScale() : INACTIVE_SHIFTING_TITLELESS_ICON_SCALE)
+                .padding(iconView.getPaddingTop() + contentOffsetY,
+                        isActive ? sixDps : getInActiveIconPaddingTop());
+    }
+
+    void applySelectionTransition(float fraction) {
+        if (drawnStrip != null || iconView == null) {
+            return;
+        }
+
+        setColors(animationState.colorAt(fraction));
+        setAlphas(animationState.alphaAt(fraction));
+        setTitleScale(animationState.titleScaleAt(fraction));
+        setIconScale(animationState.iconScaleAt(fraction));
+
+        if (type != Type.TABLET && !isTitleless) {
+            setContentOffsetY(animationState.paddingAt(fraction) - iconView.getPaddingTop());
         }
     }
 
-    private void setAlphas(float alpha) {
-        if (iconView != null) {
-            ViewCompat.setAlpha(iconView, alpha);
+    /**
+     * Moves the icon and title to hardware layers for the running transition.
+     * Skipped when their tint changes with it, since every color step would
+     * redraw the layers too and they would only cost memory.
+     */
+    void promoteTransitionLayers(@NonNull SelectionTransition transition) {
+        if (drawnStrip != null || iconView == null || animationState.isColorChanging()) {
+            return;
         }
 
+        transition.promoteToLayer(iconView);
+
         if (titleView != null) {
-            ViewCompat.setAlpha(titleView, alpha);
+            transition.promoteToLayer(titleView);
         }
     }
 
-    void updateWidth(float endWidth, boolean animated) {
-        if (!animated) {
-            getLayoutParams().width = (int) endWidth;
+    void finishSelectionTransition() {
+        if (drawnStrip != null || iconView == null) {
+            return;
+        }
+
+        applySelectionTransition(1);
+
+        // The padding is only committed once the transition is done,
+        // so it causes a single layout pass.
+        setTopPadding(animationState.getToPadding());
+
+        if (showBadgeOnTransitionEnd) {
+            showBadgeOnTransitionEnd = false;
 
             if (!isActive && badge != null) {
-                badge.adjustPositionAndSize(this);
                 badge.show();
             }
-            return;
         }
+    }
 
-        float start = getWidth();
-
-        ValueAnimator animator = ValueAnimator.ofFloat(start, endWidth);
-        animator.setDuration(150);
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animator) {
-                ViewGroup.LayoutParams params = getLayoutParams();
-                if (params == null) return;
+    private void setColors(int color) {
+        currentColor = color;
 
-                params.width = Math.round((float) animator.getAnimatedValue());
-                setLayoutParams(params);
-            }
-        });
-
-        // Workaround to avoid using faulty onAnimationEnd() listener
-        postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                if (!isActive && badge != null) {
-                    clearAnimation();
-                    badge.adjustPositionAndSize(BottomBarTab.this);
-                    badge.show();
-                }
+        if (iconView != null) {
+            if (hasStateList) {
+                iconView.setSelected(isActive);
+            } else {
+                iconView.setColorFilter(TintCache.getColorFilter(color));
             }
-        }, animator.getDuration());
-
-        animator.start();
-    }
+        }
 
-    private void updateBadgePosition() {
-        if (badge != null) {
-            badge.adjustPositionAndSize(this);
+        if (titleView != null) {
+            titleView.setTextColor(TintCache.getTextColors(color));
         }
     }
 
-    private void setTopPaddingAnimated(int start, int end) {
-        if (type == Type.TABLET || isTitleless) {
-            return;
+    private void setAlphas(float alpha) {
+        if (iconView != null) {
+            ViewCompat.setAlpha(iconView, alpha);
         }
 
-        ValueAnimator paddingAnimator = ValueAnimator.ofInt(start, end);
-        paddingAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                iconView.setPadding(
-                        iconView.getPaddingLeft(),
-                        (Integer) animation.getAnimatedValue(),
-                        iconView.getPaddingRight(),
-                        iconView.getPaddingBottom()
-                );
-            }
-        });
-
-        paddingAnimator.setDuration(ANIMATION_DURATION);
-        paddingAnimator.start();
+        if (titleView != null) {
+            ViewCompat.setAlpha(titleView, alpha);
+        }
     }
 
-    private void animateTitle(int padding, float scale, float alpha) {
-        if (type == Type.TABLET && isTitleless) {
+    /**
+     * Called after the {@link TabStripLayout} changed the width of this tab.
+     * An inactive tab shows its badge again once the resize is done.
+     */
+    void onWidthChanged(boolean animated) {
+        if (drawnStrip != null || isActive || badge == null) {
             return;
         }
 
-        setTopPaddingAnimated(iconView.getPaddingTop(), padding);
-
-        ViewPropertyAnimatorCompat titleAnimator = ViewCompat.animate(titleView)
-                .setDuration(ANIMATION_DURATION)
-                .scaleX(scale)
-                .scaleY(scale);
-        titleAnimator.alpha(alpha);
-        titleAnimator.start();
-    }
+        if (!animated) {
+            badge.show();
+            return;
+        }
 
-    private void animateIconScale(float scale) {
-        ViewCompat.animate(iconView)
-                .setDuration(ANIMATION_DURATION)
-                .scaleX(scale)
-                .scaleY(scale)
-                .start();
+        showBadgeOnTransitionEnd = true;
     }
 
-    private void animateIcon(float alpha, float scale) {
-        ViewCompat.animate(iconView)
-                .setDuration(ANIMATION_DURATION)
-                .alpha(alpha)
-                .start();
+    private void setContentOffsetY(int offset) {
+        contentOffsetY = offset;
+        ViewCompat.setTranslationY(iconView, offset);
 
-        if (isTitleless && type == Type.SHIFTING) {
-            animateIconScale(scale);
+        // Shifting titles are pinned to the bottom and don't follow the icon.
+        if (titleView != null && type != Type.SHIFTING) {
+            ViewCompat.setTranslationY(titleView, offset);
         }
     }
 
@@ -646,6 +975,12 @@ public class BottomBarTab extends LinearLayout {
             return;
         }
 
+        setContentOffsetY(0);
+
+        if (iconView.getPaddingTop() == topPadding) {
+            return;
+        }
+
         iconView.setPadding(
                 iconView.getPaddingLeft(),
                 topPadding,
@@ -723,6 +1058,7 @@ public class BottomBarTab extends LinearLayout {
         private final Typeface titleTypeFace;
         private boolean badgeHidesWhenSelected = true;
         private final boolean animateBadgeCount;
+        private final int badgeMaxCount;
 
         private Config(Builder builder) {
             this.inActiveTabAlpha = builder.inActiveTabAlpha;
@@ -735,6 +1071,42 @@ public class BottomBarTab extends LinearLayout {
             this.titleTextAppearance = builder.titleTextAppearance;
             this.titleTypeFace = builder.titleTypeFace;
             this.animateBadgeCount = builder.animateBadgeCount;
+            this.badgeMaxCount = builder.badgeMaxCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Config)) return false;
+
+            Config other = (Config) o;
+            return Float.compare(inActiveTabAlpha, other.inActiveTabAlpha) == 0
+                    && Float.compare(activeTabAlpha, other.activeTabAlpha) == 0
+                    && inActiveTabColor == other.inActiveTabColor
+                    && activeTabColor == other.activeTabColor
+                    && barColorWhenSelected == other.barColorWhenSelected
+                    && badgeBackgroundColor == other.badgeBackgroundColor
+                    && titleTextAppearance == other.titleTextAppearance
+                    && badgeHidesWhenSelected == other.badgeHidesWhenSelected
+                    && animateBadgeCount == other.animateBadgeCount
+                    && badgeMaxCount == other.badgeMaxCount
+                    && (titleTypeFace != null ? titleTypeFace.equals(other.titleTypeFace) : other.titleTypeFace == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(inActiveTabAlpha);
+            result = 31 * result + Float.floatToIntBits(activeTabAlpha);
+            result = 31 * result + inActiveTabColor;
+            result = 31 * result + activeTabColor;
+            result = 31 * result + barColorWhenSelected;
+            result = 31 * result + badgeBackgroundColor;
+            result = 31 * result + titleTextAppearance;
+            result = 31 * result + (titleTypeFace != null ? titleTypeFace.hashCode() : 0);
+            result = 31 * result + (badgeHidesWhenSelected ? 1 : 0);
+            result = 31 * result + (animateBadgeCount ? 1 : 0);
+            result = 31 * result + badgeMaxCount;
+            return result;
         }
 
         public static class Builder {
@@ -748,6 +1120,7 @@ public class BottomBarTab extends LinearLayout {
             private int titleTextAppearance;
             private Typeface titleTypeFace;
             private boolean animateBadgeCount = false;
+            private int badgeMaxCount = DEFAULT_BADGE_MAX_COUNT;
 
             public Builder inActiveTabAlpha(float alpha) {
                 this.inActiveTabAlpha = alpha;
@@ -799,6 +1172,11 @@ public class BottomBarTab extends LinearLayout {
                 return this;
             }
 
+            public Builder badgeMaxCount(int badgeMaxCount) {
+                this.badgeMaxCount = badgeMaxCount;
+                return this;
+            }
+
             public Config build() {
                 return new Config(this);
             }
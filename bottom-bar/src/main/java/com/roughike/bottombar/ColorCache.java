@@ -0,0 +1,134 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v4.content.ContextCompat;
+import android.util.LruCache;
+import android.util.SparseIntArray;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Memoizes the colors resolved while parsing tab XML resources.
+ * <p>
+ * Color resources are cached per {@link Resources.Theme}, and dropped when the
+ * configuration of the theme's resources changes. Literal colors don't depend on
+ * the theme and are shared by every parse, including the ones that failed to
+ * parse, so an invalid literal doesn't throw inside Color#parseColor on every
+ * parse. Both kinds of literals are kept in small LRU caches, so values that
+ * are only seen once don't pile up.
+ */
+final class ColorCache {
+    private static final Map<Resources.Theme, ColorCache> THEME_CACHES = new WeakHashMap<>();
+    private static final int MAX_LITERALS = 64;
+
+    private static final LruCache<String, Integer> LITERAL_COLORS = new LruCache<>(MAX_LITERALS);
+    private static final LruCache<String, Boolean> INVALID_LITERALS = new LruCache<>(MAX_LITERALS);
+
+    private final SparseIntArray resourceColors = new SparseIntArray();
+    private final Configuration configuration;
+
+    private ColorCache(@NonNull Configuration configuration) {
+        this.configuration = new Configuration(configuration);
+    }
+
+    /**
+     * Returns the color for the given color resource in the context's theme.
+     */
+    @ColorInt
+    static int getColor(@NonNull Context context, @ColorRes int colorRes) {
+        synchronized (THEME_CACHES) {
+            ColorCache cache = forContext(context);
+            int index = cache.resourceColors.indexOfKey(colorRes);
+
+            if (index >= 0) {
+                return cache.resourceColors.valueAt(index);
+            }
+
+            int color = ContextCompat.getColor(context, colorRes);
+            cache.resourceColors.put(colorRes, color);
+            return color;
+        }
+    }
+
+    /**
+     * Parses a literal color such as "#FF0000" or "red".
+     *
+     * @return the parsed color, or {@code invalidColor} if the value isn't a color.
+     */
+    @ColorInt
+    static int parseColor(@Nullable String value, int invalidColor) {
+        if (value == null) {
+            return invalidColor;
+        }
+
+        Integer color = LITERAL_COLORS.get(value);
+
+        if (color != null) {
+            return color;
+        }
+
+        if (INVALID_LITERALS.get(value) != null) {
+            return invalidColor;
+        }
+
+        try {
+            color = Color.parseColor(value);
+        } catch (Exception ignored) {
+            INVALID_LITERALS.put(value, Boolean.TRUE);
+            return invalidColor;
+        }
+
+        LITERAL_COLORS.put(value, color);
+        return color;
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (THEME_CACHES) {
+            THEME_CACHES.clear();
+        }
+
+        LITERAL_COLORS.evictAll();
+        INVALID_LITERALS.evictAll();
+    }
+
+    private static ColorCache forContext(@NonNull Context context) {
+        Resources.Theme theme = context.getTheme();
+        Configuration configuration = context.getResources().getConfiguration();
+        ColorCache cache = THEME_CACHES.get(theme);
+
+        if (cache == null || !cache.configuration.equals(configuration)) {
+            cache = new ColorCache(configuration);
+            THEME_CACHES.put(theme, cache);
+        }
+
+        return cache;
+    }
+}
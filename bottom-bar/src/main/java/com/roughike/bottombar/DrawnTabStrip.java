@@ -0,0 +1,747 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.GestureDetector;
+import android.view.HapticFeedbackConstants;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.Button;
+
+import java.util.List;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A single View that draws all the tabs of a BottomBar directly on its Canvas.
+ * <p>
+ * Used instead of the tab container when the BottomBar has
+ * {@code bb_tabRenderMode="canvas"}. The {@link BottomBarTab}s are never inflated
+ * or attached; they only hold the state of each tab and tell this strip when it
+ * changes. Touches are mapped to tabs by their x-coordinate. Selection changes
+ * are driven by the {@link SelectionTransition} of the BottomBar.
+ * <p>
+ * Every tab is exposed to accessibility services and keyboard navigation as a
+ * virtual view, so they can be found, announced and clicked like real tab views.
+ */
+class DrawnTabStrip extends View {
+    private static final float INACTIVE_FIXED_TITLE_SCALE = 0.86f;
+    private static final float ACTIVE_SHIFTING_TITLELESS_ICON_SCALE = 1.24f;
+    private static final float BADGE_X_OFFSET_RATIO = 1.25f;
+    private static final int BADGE_Y_OFFSET = 10;
+
+    private static final int[] SELECTED_STATE = {android.R.attr.state_selected};
+    private static final int[] EMPTY_STATE = {};
+    private static final int[] PRESSED_STATE = {android.R.attr.state_pressed, android.R.attr.state_enabled};
+    private static final int[] RELEASED_STATE = {android.R.attr.state_enabled};
+    private static final int[] FOCUSED_STATE = {android.R.attr.state_focused, android.R.attr.state_enabled};
+
+    private final int barHeight;
+    private final int maxFixedItemWidth;
+    private final int sixDps;
+    private final int eightDps;
+    private final int tenDps;
+    private final int sixteenDps;
+    private final int titlePadding;
+    private final int titleMargin;
+    private final int badgePadding;
+    private final float badgeTextSize;
+
+    private final TextPaint titlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint badgeTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+    private final TabAccessibilityHelper accessibilityHelper;
+
+    @Nullable
+    private final Drawable pressedFeedback;
+
+    @Nullable
+    private GestureDetector gestureDetector;
+
+    @Nullable
+    private OnClickListener tabClickListener;
+
+    @Nullable
+    private OnLongClickListener tabLongClickListener;
+
+    private BottomBarTab[] tabs = new BottomBarTab[0];
+    private Drawable[] icons = new Drawable[0];
+    private int[] iconResIds = new int[0];
+    private int[] iconColors = new int[0];
+    private float[] titleSizes = new float[0];
+    private String[] drawnTitles = new String[0];
+    private float[] drawnTitleWidths = new float[0];
+    private String[] badgeTexts = new String[0];
+    private float[] badgeTextWidths = new float[0];
+    private float[] tabLefts = new float[0];
+    private float[] tabWidths = new float[0];
+    private float[] startActiveness = new float[0];
+    private float fixedTabWidth;
+    private float activeShiftingTabWidth;
+
+    private int selectedIndex;
+    private float selectionFraction = 1;
+    private boolean widthAnimationEnabled = true;
+
+    DrawnTabStrip(Context context) {
+        super(context);
+
+        barHeight = getResources().getDimensionPixelSize(R.dimen.bb_height);
+        maxFixedItemWidth = MiscUtils.dpToPixel(context, 168);
+        sixDps = MiscUtils.dpToPixel(context, 6);
+        eightDps = MiscUtils.dpToPixel(context, 8);
+        tenDps = MiscUtils.dpToPixel(context, 10);
+        sixteenDps = MiscUtils.dpToPixel(context, 16);
+        titlePadding = MiscUtils.dpToPixel(context, 8);
+        titleMargin = getResources().getDimensionPixelSize(R.dimen.bb_tab_title_margin);
+        badgePadding = MiscUtils.dpToPixel(context, 1);
+        badgeTextSize = resolveTextSize(R.style.BB_BottomBarBadge_Text);
+
+        badgeTextPaint.setColor(0xFFFFFFFF);
+        badgeTextPaint.setTextSize(badgeTextSize);
+        badgeTextPaint.setTextAlign(Paint.Align.CENTER);
+        titlePaint.setTextAlign(Paint.Align.CENTER);
+
+        int feedbackRes = MiscUtils.getDrawableRes(context, R.attr.selectableItemBackgroundBorderless);
+        pressedFeedback = feedbackRes != 0 ? ContextCompat.getDrawable(context, feedbackRes) : null;
+
+        if (pressedFeedback != null) {
+            pressedFeedback.setCallback(this);
+        }
+
+        accessibilityHelper = new TabAccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setFocusable(true);
+    }
+
+    void setTabClickListeners(@Nullable OnClickListener clickListener,
+                              @Nullable OnLongClickListener longClickListener) {
+        tabClickListener = clickListener;
+        tabLongClickListener = longClickListener;
+    }
+
+    /**
+     * Start drawing the given tabs. Their type and titleless state must already be set.
+     */
+    void setTabs(@NonNull BottomBarTab[] newTabs) {
+        int count = newTabs.length;
+        tabs = newTabs;
+        icons = new Drawable[count];
+        iconResIds = new int[count];
+        iconColors = new int[count];
+        titleSizes = new float[count];
+        drawnTitles = new String[count];
+        drawnTitleWidths = new float[count];
+        badgeTexts = new String[count];
+        badgeTextWidths = new float[count];
+        tabLefts = new float[count];
+        tabWidths = new float[count];
+        startActiveness = new float[count];
+
+        selectedIndex = 0;
+        selectionFraction = 1;
+
+        for (int i = 0; i < count; i++) {
+            tabs[i].attachToStrip(this);
+            loadTab(i);
+        }
+
+        accessibilityHelper.invalidateRoot();
+        requestLayout();
+        invalidate();
+    }
+
+    int getTabCount() {
+        return tabs.length;
+    }
+
+    BottomBarTab getTabAt(int position) {
+        return tabs[position];
+    }
+
+    int getTabCenterX(int position) {
+        computeTabBounds();
+        return Math.round(tabLefts[position] + tabWidths[position] / 2);
+    }
+
+    /**
+     * Called by a tab when any of its drawn properties change.
+     */
+    void onTabChanged(@NonNull BottomBarTab tab) {
+        int index = tab.getIndexInTabContainer();
+
+        if (index < 0 || index >= tabs.length || tabs[index] != tab) {
+            return;
+        }
+
+        loadTab(index);
+        accessibilityHelper.invalidateVirtualView(index);
+        invalidate();
+    }
+
+    /**
+     * Called by a tab when it gets selected. Moves the selection to it. When
+     * animated, every tab starts from how selected it currently looks, so a
+     * transition that is still running is retargeted instead of restarted.
+     */
+    void onTabSelected(@NonNull BottomBarTab tab, boolean animate) {
+        int index = tab.getIndexInTabContainer();
+
+        if (animate) {
+            for (int i = 0; i < tabs.length; i++) {
+                startActiveness[i] = activeness(i);
+            }
+
+            selectionFraction = 0;
+        } else {
+            selectionFraction = 1;
+        }
+
+        int previousIndex = selectedIndex;
+        selectedIndex = index;
+
+        if (previousIndex < tabs.length) {
+            accessibilityHelper.invalidateVirtualView(previousIndex);
+        }
+
+        accessibilityHelper.invalidateVirtualView(index);
+        invalidate();
+    }
+
+    /**
+     * Controls whether shifting tabs change their width gradually during a
+     * selection transition, or jump to their new width right away.
+     */
+    void setWidthAnimationEnabled(boolean enabled) {
+        widthAnimationEnabled = enabled;
+    }
+
+    void setSelectionFraction(float fraction) {
+        selectionFraction = fraction;
+        invalidate();
+    }
+
+    private void loadTab(int index) {
+        BottomBarTab tab = tabs[index];
+        int iconResId = tab.getIconResId();
+
+        if (icons[index] == null || iconResIds[index] != iconResId) {
+            Drawable icon = iconResId != 0 ? ContextCompat.getDrawable(getContext(), iconResId) : null;
+
+            if (icon != null) {
+                icon = icon.mutate();
+                icon.setBounds(0, 0, icon.getIntrinsicWidth(), icon.getIntrinsicHeight());
+                iconColors[index] = tab.isActive() ? tab.getActiveColor() : tab.getInActiveColor();
+                icon.setColorFilter(TintCache.getColorFilter(iconColors[index]));
+            }
+
+            icons[index] = icon;
+            iconResIds[index] = iconResId;
+        }
+
+        int appearance = tab.getTitleTextAppearance();
+
+        if (appearance == 0) {
+            appearance = tab.getType() == BottomBarTab.Type.SHIFTING
+                    ? R.style.BB_BottomBarItem_Shifting_TitleAppearance
+                    : R.style.BB_BottomBarItem_Fixed_TitleAppearance;
+        }
+
+        titleSizes[index] = resolveTextSize(appearance);
+        drawnTitles[index] = null;
+
+        int badgeCount = tab.getDrawnBadgeCount();
+
+        if (badgeCount > 0) {
+            BadgeTextCache badgeTextCache = BadgeTextCache.get(badgeTextPaint, tab.getBadgeMaxCount());
+            badgeTexts[index] = badgeTextCache.getText(badgeCount);
+            badgeTextWidths[index] = badgeTextCache.getWidth(badgeCount);
+        } else {
+            badgeTexts[index] = null;
+        }
+    }
+
+    private float resolveTextSize(@StyleRes int textAppearance) {
+        TypedArray ta = getContext().obtainStyledAttributes(textAppearance, new int[]{android.R.attr.textSize});
+
+        try {
+            return ta.getDimension(0, TypedValue.applyDimension(
+                    TypedValue.COMPLEX_UNIT_SP, 14, getResources().getDisplayMetrics()));
+        } finally {
+            ta.recycle();
+        }
+    }
+
+    private float activeness(int index) {
+        float target = index == selectedIndex ? 1 : 0;
+
+        if (selectionFraction >= 1) {
+            return target;
+        }
+
+        return lerp(startActiveness[index], target, selectionFraction);
+    }
+
+    private BottomBarTab.Type getType() {
+        return tabs.length > 0 ? tabs[0].getType() : BottomBarTab.Type.FIXED;
+    }
+
+    private void computeTabBounds() {
+        int count = tabs.length;
+
+        if (count == 0) {
+            return;
+        }
+
+        boolean isShifting = getType() == BottomBarTab.Type.SHIFTING;
+        int availableWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        float proposedWidth = Math.min((float) availableWidth / count, maxFixedItemWidth);
+        float inActiveShiftingWidth = proposedWidth * 0.9f;
+        float activeShiftingWidth = proposedWidth + proposedWidth * ((count - 1) * 0.1f);
+        float totalWidth = 0;
+
+        fixedTabWidth = proposedWidth;
+        activeShiftingTabWidth = activeShiftingWidth;
+
+        for (int i = 0; i < count; i++) {
+            float widthFraction = widthAnimationEnabled ? activeness(i) : (i == selectedIndex ? 1 : 0);
+            tabWidths[i] = isShifting
+                    ? lerp(inActiveShiftingWidth, activeShiftingWidth, widthFraction)
+                    : proposedWidth;
+            totalWidth += tabWidths[i];
+        }
+
+        float left = getPaddingLeft() + (availableWidth - totalWidth) / 2;
+        boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+
+        // Like a horizontal LinearLayout, the first tab is on the right in RTL.
+        for (int i = 0; i < count; i++) {
+            int index = isRtl ? count - 1 - i : i;
+            tabLefts[index] = left;
+            left += tabWidths[index];
+        }
+    }
+
+    private int findTabAt(float x) {
+        computeTabBounds();
+
+        for (int i = 0; i < tabs.length; i++) {
+            if (x >= tabLefts[i] && x < tabLefts[i] + tabWidths[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(
+                getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(barHeight, heightMeasureSpec)
+        );
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        computeTabBounds();
+
+        if (pressedFeedback != null) {
+            pressedFeedback.draw(canvas);
+        }
+
+        for (int i = 0; i < tabs.length; i++) {
+            drawTab(canvas, i);
+        }
+    }
+
+    private void drawTab(Canvas canvas, int index) {
+        BottomBarTab tab = tabs[index];
+        BottomBarTab.Type type = tab.getType();
+        boolean isShifting = type == BottomBarTab.Type.SHIFTING;
+        boolean isNotScaling = type == BottomBarTab.Type.NO_SCALING;
+
+        float fraction = activeness(index);
+        int color = TabAnimationState.blendArgb(tab.getInActiveColor(), tab.getActiveColor(), fraction);
+        float alpha = lerp(tab.getInActiveAlpha(), tab.getActiveAlpha(), fraction);
+        float centerX = tabLefts[index] + tabWidths[index] / 2;
+
+        Drawable icon = icons[index];
+        int iconWidth = icon != null ? icon.getIntrinsicWidth() : 0;
+        int iconHeight = icon != null ? icon.getIntrinsicHeight() : 0;
+        float iconTop;
+        float iconScale = 1;
+
+        if (tab.isTitleless()) {
+            iconTop = (getHeight() - iconHeight) / 2f;
+
+            if (isShifting) {
+                iconScale = lerp(1, ACTIVE_SHIFTING_TITLELESS_ICON_SCALE, fraction);
+            }
+        } else if (isNotScaling) {
+            iconTop = sixDps;
+        } else {
+            iconTop = lerp(isShifting ? sixteenDps : eightDps, sixDps, fraction);
+        }
+
+        float iconLeft = centerX - iconWidth / 2f;
+
+        if (icon != null) {
+            if (icon instanceof StateListDrawable) {
+                icon.setState(tab.isActive() ? SELECTED_STATE : EMPTY_STATE);
+            } else if (iconColors[index] != color) {
+                iconColors[index] = color;
+                icon.setColorFilter(TintCache.getColorFilter(color));
+            }
+
+            icon.setAlpha(Math.round(alpha * 255));
+
+            int saveCount = canvas.save();
+            canvas.translate(iconLeft, iconTop);
+            canvas.scale(iconScale, iconScale, iconWidth / 2f, iconHeight / 2f);
+            icon.draw(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+
+        if (!tab.isTitleless() && tab.getTitle() != null) {
+            float titleScale;
+
+            if (isNotScaling) {
+                titleScale = 1;
+            } else if (isShifting) {
+                titleScale = fraction;
+            } else {
+                titleScale = lerp(INACTIVE_FIXED_TITLE_SCALE, 1, fraction);
+            }
+
+            if (titleScale > 0) {
+                drawTitle(canvas, tab, index, color, alpha, titleScale, centerX,
+                        iconTop + iconHeight + titleMargin, isShifting);
+            }
+        }
+
+        String badgeText = badgeTexts[index];
+        boolean badgeHidden = tab.isActive() && tab.getBadgeHidesWhenActive();
+
+        if (badgeText != null && !badgeHidden) {
+            drawBadge(canvas, tab, badgeText, badgeTextWidths[index], iconLeft + iconWidth / BADGE_X_OFFSET_RATIO);
+        }
+    }
+
+    private void drawTitle(Canvas canvas, BottomBarTab tab, int index, int color, float alpha,
+                           float scale, float centerX, float top, boolean isShifting) {
+        Typeface typeface = tab.getTitleTypeFace();
+
+        titlePaint.setTextSize(titleSizes[index]);
+        titlePaint.setTypeface(typeface != null ? typeface : Typeface.DEFAULT);
+        titlePaint.setColor(color);
+        titlePaint.setAlpha(Math.round(Math.min(1, alpha) * (color >>> 24)));
+        titlePaint.getFontMetrics(fontMetrics);
+
+        float baseline = isShifting ? getHeight() - tenDps : top - fontMetrics.ascent;
+        float centerY = baseline + (fontMetrics.ascent + fontMetrics.descent) / 2;
+
+        int saveCount = canvas.save();
+        canvas.scale(scale, scale, centerX, centerY);
+        canvas.drawText(getDrawnTitle(tab, index, isShifting), centerX, baseline, titlePaint);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Returns the title of the tab, ellipsized to the width the tab has when
+     * it's active. Ellipsized titles are kept until that width or the title
+     * changes, so animation frames don't create new strings.
+     */
+    private String getDrawnTitle(BottomBarTab tab, int index, boolean isShifting) {
+        float availableWidth = Math.max(0, (isShifting ? activeShiftingTabWidth : fixedTabWidth) - titlePadding * 2);
+
+        if (drawnTitles[index] == null || drawnTitleWidths[index] != availableWidth) {
+            drawnTitles[index] = TextUtils.ellipsize(tab.getTitle(), titlePaint, availableWidth,
+                    TextUtils.TruncateAt.END).toString();
+            drawnTitleWidths[index] = availableWidth;
+        }
+
+        return drawnTitles[index];
+    }
+
+    private void drawBadge(Canvas canvas, BottomBarTab tab, String text, float textWidth, float left) {
+        badgeTextPaint.getFontMetrics(fontMetrics);
+
+        float textHeight = fontMetrics.descent - fontMetrics.ascent;
+        float size = Math.max(textWidth, textHeight) + badgePadding * 2;
+        float radius = size / 2;
+        float centerX = left + radius;
+        float centerY = BADGE_Y_OFFSET + radius;
+
+        badgePaint.setColor(tab.getBadgeBackgroundColor());
+        canvas.drawCircle(centerX, centerY, radius, badgePaint);
+        canvas.drawText(text, centerX, centerY - (fontMetrics.ascent + fontMetrics.descent) / 2, badgeTextPaint);
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (gestureDetector == null) {
+            gestureDetector = new GestureDetector(getContext(), new TabGestureListener());
+        }
+
+        boolean handled = gestureDetector.onTouchEvent(event);
+        int action = event.getActionMasked();
+
+        if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            showPressedFeedback(-1, event);
+        }
+
+        return handled || super.onTouchEvent(event);
+    }
+
+    private void showPressedFeedback(int index, MotionEvent event) {
+        if (pressedFeedback == null) {
+            return;
+        }
+
+        if (index >= 0) {
+            pressedFeedback.setBounds(Math.round(tabLefts[index]), 0,
+                    Math.round(tabLefts[index] + tabWidths[index]), getHeight());
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                pressedFeedback.setHotspot(event.getX(), event.getY());
+            }
+
+            pressedFeedback.setState(PRESSED_STATE);
+        } else {
+            pressedFeedback.setState(RELEASED_STATE);
+        }
+
+        invalidate();
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == pressedFeedback || super.verifyDrawable(who);
+    }
+
+    private static float lerp(float start, float end, float fraction) {
+        return start + (end - start) * fraction;
+    }
+
+    private class TabGestureListener extends GestureDetector.SimpleOnGestureListener {
+        @Override
+        public boolean onDown(MotionEvent e) {
+            int index = findTabAt(e.getX());
+            showPressedFeedback(index, e);
+            return index != -1;
+        }
+
+        @Override
+        public boolean onSingleTapUp(MotionEvent e) {
+            int index = findTabAt(e.getX());
+
+            if (index == -1 || tabClickListener == null) {
+                return false;
+            }
+
+            playSoundEffect(SoundEffectConstants.CLICK);
+            performTabClick(index);
+            return true;
+        }
+
+        @Override
+        public void onLongPress(MotionEvent e) {
+            int index = findTabAt(e.getX());
+
+            if (index != -1 && performTabLongClick(index)) {
+                performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
+            }
+        }
+    }
+
+    private boolean performTabClick(int index) {
+        if (tabClickListener == null) {
+            return false;
+        }
+
+        tabClickListener.onClick(tabs[index]);
+        accessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_CLICKED);
+        return true;
+    }
+
+    private boolean performTabLongClick(int index) {
+        if (tabLongClickListener == null || !tabLongClickListener.onLongClick(tabs[index])) {
+            return false;
+        }
+
+        accessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_LONG_CLICKED);
+        return true;
+    }
+
+    private void showFocusedFeedback(int index) {
+        if (pressedFeedback == null) {
+            return;
+        }
+
+        if (index >= 0) {
+            computeTabBounds();
+            pressedFeedback.setBounds(Math.round(tabLefts[index]), 0,
+                    Math.round(tabLefts[index] + tabWidths[index]), getHeight());
+            pressedFeedback.setState(FOCUSED_STATE);
+        } else {
+            pressedFeedback.setState(RELEASED_STATE);
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Exposes one virtual view per tab, with its title, selected state and
+     * badge count. Clicks from accessibility services and the keyboard go to
+     * the same listener as taps.
+     */
+    private class TabAccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect tabBounds = new Rect();
+
+        TabAccessibilityHelper(@NonNull View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int index = findTabAt(x);
+            return index != -1 ? index : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            for (int i = 0; i < tabs.length; i++) {
+                virtualViewIds.add(i);
+            }
+        }
+
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, @NonNull AccessibilityEvent event) {
+            event.setContentDescription(getTabDescription(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (virtualViewId < 0 || virtualViewId >= tabs.length) {
+                // The tabs changed while the service still knew the old ones.
+                node.setContentDescription("");
+                node.setBoundsInParent(tabBounds);
+                return;
+            }
+
+            BottomBarTab tab = tabs[virtualViewId];
+            computeTabBounds();
+            tabBounds.set(Math.round(tabLefts[virtualViewId]), 0,
+                    Math.round(tabLefts[virtualViewId] + tabWidths[virtualViewId]), getHeight());
+
+            node.setClassName(Button.class.getName());
+            node.setText(tab.getTitle());
+            node.setContentDescription(getTabDescription(virtualViewId));
+            node.setSelected(tab.isActive());
+            node.setFocusable(true);
+            node.setClickable(true);
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+
+            if (tabLongClickListener != null) {
+                node.setLongClickable(true);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_LONG_CLICK);
+            }
+
+            node.setBoundsInParent(tabBounds);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (virtualViewId < 0 || virtualViewId >= tabs.length) {
+                return false;
+            }
+
+            switch (action) {
+                case AccessibilityNodeInfoCompat.ACTION_CLICK:
+                    return performTabClick(virtualViewId);
+                case AccessibilityNodeInfoCompat.ACTION_LONG_CLICK:
+                    return performTabLongClick(virtualViewId);
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        protected void onVirtualViewKeyboardFocusChanged(int virtualViewId, boolean hasFocus) {
+            showFocusedFeedback(hasFocus ? virtualViewId : -1);
+        }
+
+        private String getTabDescription(int index) {
+            if (index < 0 || index >= tabs.length) {
+                return "";
+            }
+
+            BottomBarTab tab = tabs[index];
+            String title = tab.getTitle() != null ? tab.getTitle() : "";
+            int badgeCount = tab.getDrawnBadgeCount();
+
+            if (badgeCount <= 0) {
+                return title;
+            }
+
+            return getResources().getQuantityString(
+                    R.plurals.bb_badge_content_description, badgeCount, title, badgeCount);
+        }
+    }
+}
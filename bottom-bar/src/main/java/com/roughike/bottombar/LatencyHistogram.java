@@ -0,0 +1,148 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A histogram of durations with fixed, exponentially growing buckets.
+ * <p>
+ * Recording only increments primitive counters, so it never allocates. Every
+ * bucket is 25% wider than the one before it, from 10 microseconds up to 10
+ * seconds, which bounds the error of a percentile to the width of its bucket.
+ * Not thread safe.
+ */
+final class LatencyHistogram {
+    private static final long SMALLEST_BOUND_NANOS = 10000L;
+    private static final long LARGEST_BOUND_NANOS = 10000000000L;
+    private static final double BUCKET_GROWTH = 1.25;
+
+    private static final long[] UPPER_BOUNDS_NANOS = createUpperBounds();
+
+    /**
+     * One count per bucket, plus one for durations above the largest bound.
+     */
+    private final long[] counts = new long[UPPER_BOUNDS_NANOS.length + 1];
+
+    private long count;
+    private long totalNanos;
+    private long minNanos;
+    private long maxNanos;
+
+    LatencyHistogram() {
+    }
+
+    LatencyHistogram(@NonNull LatencyHistogram source) {
+        System.arraycopy(source.counts, 0, counts, 0, counts.length);
+        count = source.count;
+        totalNanos = source.totalNanos;
+        minNanos = source.minNanos;
+        maxNanos = source.maxNanos;
+    }
+
+    private static long[] createUpperBounds() {
+        int bucketCount = (int) Math.ceil(Math.log((double) LARGEST_BOUND_NANOS / SMALLEST_BOUND_NANOS)
+                / Math.log(BUCKET_GROWTH)) + 1;
+        long[] bounds = new long[bucketCount];
+        double bound = SMALLEST_BOUND_NANOS;
+
+        for (int i = 0; i < bucketCount; i++) {
+            bounds[i] = (long) bound;
+            bound *= BUCKET_GROWTH;
+        }
+
+        return bounds;
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        int index = Arrays.binarySearch(UPPER_BOUNDS_NANOS, nanos);
+        counts[index >= 0 ? index : -index - 1]++;
+
+        if (count == 0 || nanos < minNanos) {
+            minNanos = nanos;
+        }
+
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+
+        count++;
+        totalNanos += nanos;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMinNanos() {
+        return minNanos;
+    }
+
+    long getMaxNanos() {
+        return maxNanos;
+    }
+
+    long getMeanNanos() {
+        return count > 0 ? totalNanos / count : 0;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile,
+     * clamped to the smallest and largest recorded durations.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     */
+    long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100, was "
+                    + percentile + ".");
+        }
+
+        if (count == 0 || percentile == 0) {
+            return minNanos;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+
+        for (int i = 0; i < UPPER_BOUNDS_NANOS.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.max(minNanos, Math.min(maxNanos, UPPER_BOUNDS_NANOS[i]));
+            }
+        }
+
+        return maxNanos;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        minNanos = 0;
+        maxNanos = 0;
+    }
+}
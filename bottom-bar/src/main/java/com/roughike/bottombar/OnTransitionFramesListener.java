@@ -0,0 +1,40 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.IdRes;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface OnTransitionFramesListener {
+    /**
+     * Called once a selection change has settled, with how smoothly it was drawn.
+     * The frames are counted from the {@link OnTabSelectListener} returning until
+     * the first frame after the transition ended. The first frame isn't counted,
+     * since it also runs work deferred by the listener, such as fragment
+     * transactions. If another tab is selected before that, the interrupted
+     * change is reported right away.
+     *
+     * @param fromTabId       the {@link BottomBarTab} that was selected before.
+     * @param toTabId         the newly selected {@link BottomBarTab}.
+     * @param frameCount      how many frames were drawn.
+     * @param slowFrameCount  how many of them took longer than one and a half
+     *                        refresh intervals of the display.
+     * @param worstFrameNanos how long the slowest frame took, in nanoseconds.
+     */
+    void onTransitionFrames(@IdRes int fromTabId, @IdRes int toTabId,
+                            int frameCount, int slowFrameCount, long worstFrameNanos);
+}
@@ -0,0 +1,248 @@
+package com.roughike.bottombar;
+
+import android.animation.Animator;
+import android.animation.ValueAnimator;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Drives a selection change of a BottomBar from a single progress value.
+ * <p>
+ * The icons, titles and colors of the tabs, the tab widths and the bar background
+ * all follow the same animator, so a selection change is one animation instead
+ * of several independent ones fighting over the same properties.
+ * <p>
+ * Starting a new transition while one is running retargets it: every tab starts
+ * from what it currently shows, so nothing jumps and no animators pile up. Going
+ * back to the tab the running transition came from reverses it, taking only as
+ * long as the way already travelled.
+ * <p>
+ * Views that only move, fade or scale during the transition can be promoted to
+ * hardware layers with {@link #promoteToLayer(View)}, so their content is drawn
+ * once instead of on every frame. The layers are released when the transition
+ * ends. Must only be used from the main thread.
+ */
+final class SelectionTransition implements ValueAnimator.AnimatorUpdateListener, Animator.AnimatorListener {
+    static final long DURATION = 150;
+
+    /**
+     * Receives the progress of the transition for everything that isn't a tab.
+     */
+    interface Listener {
+        void onTransitionProgress(float fraction);
+
+        void onTransitionEnd();
+    }
+
+    private final Listener listener;
+    private final ValueAnimator animator;
+
+    private BottomBarTab[] movingTabs = new BottomBarTab[4];
+    private int movingTabCount;
+
+    @Nullable
+    private BottomBarTab fromTab;
+
+    private View[] layerViews = new View[4];
+    private int layerViewCount;
+    private int hardwareLayerCount;
+    private boolean hardwareLayersEnabled = true;
+
+    private boolean isRetargeting;
+    private float progress = 1;
+
+    SelectionTransition(@NonNull Listener listener) {
+        this.listener = listener;
+
+        animator = ValueAnimator.ofFloat(0, 1);
+        animator.setDuration(DURATION);
+        animator.addUpdateListener(this);
+        animator.addListener(this);
+    }
+
+    /**
+     * Starts a transition from the old tab to the new one, which must already be
+     * deselected and selected with animations, so they captured their start state.
+     */
+    void start(@NonNull BottomBarTab oldTab, @NonNull BottomBarTab newTab) {
+        long duration = DURATION;
+
+        if (animator.isStarted()) {
+            if (newTab == fromTab) {
+                duration = animator.getCurrentPlayTime();
+            }
+
+            isRetargeting = true;
+            animator.cancel();
+            isRetargeting = false;
+
+            for (int i = 0; i < movingTabCount; i++) {
+                BottomBarTab tab = movingTabs[i];
+
+                if (tab != oldTab && tab != newTab) {
+                    tab.prepareSelectionTransition();
+                }
+            }
+        }
+
+        addMovingTab(oldTab);
+        addMovingTab(newTab);
+        fromTab = oldTab;
+        progress = 0;
+
+        animator.setDuration(duration);
+        animator.start();
+
+        for (int i = 0; i < movingTabCount; i++) {
+            movingTabs[i].promoteTransitionLayers(this);
+        }
+    }
+
+    /**
+     * Stops the running transition as a whole. Every tab and the bar are settled
+     * in the state the transition was heading to, so nothing is left half-way.
+     */
+    void cancel() {
+        if (animator.isStarted()) {
+            animator.cancel();
+        }
+    }
+
+    boolean isRunning() {
+        return animator.isStarted();
+    }
+
+    float getProgress() {
+        return progress;
+    }
+
+    void setHardwareLayersEnabled(boolean enabled) {
+        hardwareLayersEnabled = enabled;
+
+        if (!enabled) {
+            releaseLayers();
+        }
+    }
+
+    boolean isHardwareLayersEnabled() {
+        return hardwareLayersEnabled;
+    }
+
+    /**
+     * Returns how many hardware layers were created for transitions so far.
+     */
+    int getHardwareLayerCount() {
+        return hardwareLayerCount;
+    }
+
+    /**
+     * Renders the given view into a hardware layer until the running transition
+     * ends. Does nothing if layers are disabled, if the view isn't hardware
+     * accelerated, where a layer would be drawn in software instead, or if the
+     * view already has a layer of any kind.
+     */
+    void promoteToLayer(@NonNull View view) {
+        if (!hardwareLayersEnabled
+                || !animator.isStarted()
+                || !view.isHardwareAccelerated()
+                || view.getLayerType() != View.LAYER_TYPE_NONE) {
+            return;
+        }
+
+        if (layerViewCount == layerViews.length) {
+            View[] grown = new View[layerViewCount * 2];
+            System.arraycopy(layerViews, 0, grown, 0, layerViewCount);
+            layerViews = grown;
+        }
+
+        view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        layerViews[layerViewCount++] = view;
+        hardwareLayerCount++;
+    }
+
+    private void releaseLayers() {
+        for (int i = 0; i < layerViewCount; i++) {
+            layerViews[i].setLayerType(View.LAYER_TYPE_NONE, null);
+            layerViews[i] = null;
+        }
+
+        layerViewCount = 0;
+    }
+
+    private void addMovingTab(@NonNull BottomBarTab tab) {
+        for (int i = 0; i < movingTabCount; i++) {
+            if (movingTabs[i] == tab) {
+                return;
+            }
+        }
+
+        if (movingTabCount == movingTabs.length) {
+            BottomBarTab[] grown = new BottomBarTab[movingTabCount * 2];
+            System.arraycopy(movingTabs, 0, grown, 0, movingTabCount);
+            movingTabs = grown;
+        }
+
+        movingTabs[movingTabCount++] = tab;
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        progress = animation.getAnimatedFraction();
+
+        for (int i = 0; i < movingTabCount; i++) {
+            movingTabs[i].applySelectionTransition(progress);
+        }
+
+        listener.onTransitionProgress(progress);
+    }
+
+    @Override
+    public void onAnimationStart(Animator animation) {
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+        if (isRetargeting) {
+            return;
+        }
+
+        progress = 1;
+
+        for (int i = 0; i < movingTabCount; i++) {
+            movingTabs[i].finishSelectionTransition();
+            movingTabs[i] = null;
+        }
+
+        movingTabCount = 0;
+        fromTab = null;
+        releaseLayers();
+        listener.onTransitionEnd();
+    }
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.ColorInt;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The start and end values of a selection transition of a single tab.
+ * <p>
+ * Every tab keeps one instance and reuses it for all of its transitions, and
+ * all values are computed from the animation progress with primitive math, so
+ * a running transition doesn't allocate anything.
+ */
+final class TabAnimationState {
+    /**
+     * Colors change in this many steps over a transition, so the same few
+     * colors come back on every tap and their color filters can be cached.
+     */
+    private static final int COLOR_STEPS = 16;
+
+    private int fromColor;
+    private int toColor;
+    private float fromAlpha;
+    private float toAlpha;
+    private float fromTitleScale;
+    private float toTitleScale;
+    private float fromIconScale;
+    private float toIconScale;
+    private int fromPadding;
+    private int toPadding;
+
+    TabAnimationState color(@ColorInt int from, @ColorInt int to) {
+        fromColor = from;
+        toColor = to;
+        return this;
+    }
+
+    TabAnimationState alpha(float from, float to) {
+        fromAlpha = from;
+        toAlpha = to;
+        return this;
+    }
+
+    TabAnimationState titleScale(float from, float to) {
+        fromTitleScale = from;
+        toTitleScale = to;
+        return this;
+    }
+
+    TabAnimationState iconScale(float from, float to) {
+        fromIconScale = from;
+        toIconScale = to;
+        return this;
+    }
+
+    TabAnimationState padding(int from, int to) {
+        fromPadding = from;
+        toPadding = to;
+        return this;
+    }
+
+    @ColorInt
+    int colorAt(float fraction) {
+        float steppedFraction = Math.round(fraction * COLOR_STEPS) / (float) COLOR_STEPS;
+        return blendArgb(fromColor, toColor, steppedFraction);
+    }
+
+    float alphaAt(float fraction) {
+        return lerp(fromAlpha, toAlpha, fraction);
+    }
+
+    float titleScaleAt(float fraction) {
+        return lerp(fromTitleScale, toTitleScale, fraction);
+    }
+
+    float iconScaleAt(float fraction) {
+        return lerp(fromIconScale, toIconScale, fraction);
+    }
+
+    int paddingAt(float fraction) {
+        return Math.round(lerp(fromPadding, toPadding, fraction));
+    }
+
+    boolean isColorChanging() {
+        return fromColor != toColor;
+    }
+
+    int getToPadding() {
+        return toPadding;
+    }
+
+    /**
+     * Blends two colors channel by channel, like {@link android.animation.ArgbEvaluator}
+     * but without boxing.
+     */
+    @ColorInt
+    static int blendArgb(@ColorInt int from, @ColorInt int to, float fraction) {
+        int a = Math.round(lerp((from >>> 24), (to >>> 24), fraction));
+        int r = Math.round(lerp((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction));
+        int g = Math.round(lerp((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction));
+        int b = Math.round(lerp(from & 0xFF, to & 0xFF, fraction));
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static float lerp(float from, float to, float fraction) {
+        return from + (to - from) * fraction;
+    }
+}
@@ -2,7 +2,6 @@ package com.roughike.bottombar;
 
 import android.content.Context;
 import android.content.res.XmlResourceParser;
-import android.graphics.Color;
 import android.support.annotation.CheckResult;
 import android.support.annotation.ColorInt;
 import android.support.annotation.IntRange;
@@ -10,7 +9,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringDef;
 import android.support.annotation.XmlRes;
-import android.support.v4.content.ContextCompat;
+import android.util.TypedValue;
 
 import org.xmlpull.v1.XmlPullParserException;
 
@@ -18,6 +17,7 @@ import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.roughike.bottombar.TabParser.TabAttribute.ACTIVE_COLOR;
@@ -58,47 +58,50 @@ class TabParser {
     private final Context context;
 
     @NonNull
-    private final BottomBarTab.Config defaultTabConfig;
+    private final XmlResourceParser parser;
 
     @NonNull
-    private final XmlResourceParser parser;
+    private final TypedValue colorValue = new TypedValue();
 
     @Nullable
-    private List<BottomBarTab> tabs = null;
+    private List<TabSpec> specs = null;
 
-    TabParser(@NonNull Context context, @NonNull BottomBarTab.Config defaultTabConfig, @XmlRes int tabsXmlResId) {
+    private boolean usesThemedColors;
+
+    TabParser(@NonNull Context context, @XmlRes int tabsXmlResId) {
         this.context = context;
-        this.defaultTabConfig = defaultTabConfig;
         this.parser = context.getResources().getXml(tabsXmlResId);
     }
 
     @CheckResult
     @NonNull
-    public List<BottomBarTab> parseTabs() {
-        if (tabs == null) {
-            tabs = new ArrayList<>(AVG_NUMBER_OF_TABS);
+    public List<TabSpec> parseTabs() {
+        if (specs == null) {
+            List<TabSpec> parsedSpecs = new ArrayList<>(AVG_NUMBER_OF_TABS);
             try {
                 int eventType;
                 do {
                     eventType = parser.next();
                     if (eventType == XmlResourceParser.START_TAG && TAB_TAG.equals(parser.getName())) {
-                        BottomBarTab bottomBarTab = parseNewTab(parser, tabs.size());
-                        tabs.add(bottomBarTab);
+                        parsedSpecs.add(parseNewTab(parser));
                     }
                 } while (eventType != XmlResourceParser.END_DOCUMENT);
             } catch (IOException | XmlPullParserException e) {
                 e.printStackTrace();
                 throw new TabParserException();
+            } finally {
+                parser.close();
             }
+
+            specs = Collections.unmodifiableList(parsedSpecs);
         }
 
-        return tabs;
+        return specs;
     }
 
     @NonNull
-    private BottomBarTab parseNewTab(@NonNull XmlResourceParser parser, @IntRange(from = 0) int containerPosition) {
-        BottomBarTab workingTab = tabWithDefaults();
-        workingTab.setIndexInContainer(containerPosition);
+    private TabSpec parseNewTab(@NonNull XmlResourceParser parser) {
+        TabSpec.Builder builder = new TabSpec.Builder();
 
         final int numberOfAttributes = parser.getAttributeCount();
         for (int i = 0; i < numberOfAttributes; i++) {
@@ -106,54 +109,46 @@ class TabParser {
             String attrName = parser.getAttributeName(i);
             switch (attrName) {
                 case ID:
-                    workingTab.setId(parser.getIdAttributeResourceValue(i));
+                    builder.id(parser.getIdAttributeResourceValue(i));
                     break;
                 case ICON:
-                    workingTab.setIconResId(parser.getAttributeResourceValue(i, RESOURCE_NOT_FOUND));
+                    builder.iconResId(parser.getAttributeResourceValue(i, RESOURCE_NOT_FOUND));
                     break;
                 case TITLE:
-                    workingTab.setTitle(getTitleValue(parser, i));
+                    builder.title(getTitleValue(parser, i));
                     break;
                 case INACTIVE_COLOR:
                     int inactiveColor = getColorValue(parser, i);
                     if (inactiveColor == COLOR_NOT_SET) continue;
-                    workingTab.setInActiveColor(inactiveColor);
+                    builder.inActiveColor(inactiveColor);
                     break;
                 case ACTIVE_COLOR:
                     int activeColor = getColorValue(parser, i);
                     if (activeColor == COLOR_NOT_SET) continue;
-                    workingTab.setActiveColor(activeColor);
+                    builder.activeColor(activeColor);
                     break;
                 case BAR_COLOR_WHEN_SELECTED:
                     int barColorWhenSelected = getColorValue(parser, i);
                     if (barColorWhenSelected == COLOR_NOT_SET) continue;
-                    workingTab.setBarColorWhenSelected(barColorWhenSelected);
+                    builder.barColorWhenSelected(barColorWhenSelected);
                     break;
                 case BADGE_BACKGROUND_COLOR:
                     int badgeBackgroundColor = getColorValue(parser, i);
                     if (badgeBackgroundColor == COLOR_NOT_SET) continue;
-                    workingTab.setBadgeBackgroundColor(badgeBackgroundColor);
+                    builder.badgeBackgroundColor(badgeBackgroundColor);
                     break;
                 case BADGE_HIDES_WHEN_ACTIVE:
                     boolean badgeHidesWhenActive = parser.getAttributeBooleanValue(i, true);
-                    workingTab.setBadgeHidesWhenActive(badgeHidesWhenActive);
+                    builder.badgeHidesWhenActive(badgeHidesWhenActive);
                     break;
                 case IS_TITLELESS:
                     boolean isTitleless = parser.getAttributeBooleanValue(i, false);
-                    workingTab.setIsTitleless(isTitleless);
+                    builder.titleless(isTitleless);
                     break;
             }
         }
 
-        return workingTab;
-    }
-
-    @NonNull
-    private BottomBarTab tabWithDefaults() {
-        BottomBarTab tab = new BottomBarTab(context);
-        tab.setConfig(defaultTabConfig);
-
-        return tab;
+        return builder.build();
     }
 
     @NonNull
@@ -163,20 +158,31 @@ class TabParser {
                 ? parser.getAttributeValue(attrIndex) : context.getString(titleResource);
     }
 
+    /**
+     * Whether any of the parsed colors came from a color state list resource.
+     * Those can refer to theme attributes, so the parsed tabs are only valid
+     * for the theme of the Context they were parsed with.
+     */
+    boolean usesThemedColors() {
+        return usesThemedColors;
+    }
+
     @ColorInt
     private int getColorValue(@NonNull XmlResourceParser parser, @IntRange(from = 0) int attrIndex) {
         int colorResource = parser.getAttributeResourceValue(attrIndex, 0);
 
         if (colorResource == RESOURCE_NOT_FOUND) {
-            try {
-                String colorValue = parser.getAttributeValue(attrIndex);
-                return Color.parseColor(colorValue);
-            } catch (Exception ignored) {
-                return COLOR_NOT_SET;
-            }
+            return ColorCache.parseColor(parser.getAttributeValue(attrIndex), COLOR_NOT_SET);
+        }
+
+        context.getResources().getValue(colorResource, colorValue, true);
+
+        if (colorValue.type < TypedValue.TYPE_FIRST_COLOR_INT
+                || colorValue.type > TypedValue.TYPE_LAST_COLOR_INT) {
+            usesThemedColors = true;
         }
 
-        return ContextCompat.getColor(context, colorResource);
+        return ColorCache.getColor(context, colorResource);
     }
 
     @Retention(RetentionPolicy.SOURCE)
@@ -0,0 +1,221 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.IdRes;
+import android.support.annotation.Nullable;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * An immutable description of a single {@link BottomBarTab}.
+ * <p>
+ * TabSpecs are plain values: they can be parsed from a tab XML resource,
+ * built in code with a {@link Builder}, compared and reused, all without creating
+ * any views. Values that are not specified are null, meaning the
+ * {@link BottomBarTab.Config} used when creating the tab decides them.
+ */
+public final class TabSpec {
+    @IdRes
+    private final int id;
+
+    @DrawableRes
+    private final int iconResId;
+
+    @Nullable
+    private final String title;
+
+    @Nullable
+    private final Integer inActiveColor;
+
+    @Nullable
+    private final Integer activeColor;
+
+    @Nullable
+    private final Integer barColorWhenSelected;
+
+    @Nullable
+    private final Integer badgeBackgroundColor;
+
+    @Nullable
+    private final Boolean badgeHidesWhenActive;
+
+    private final boolean isTitleless;
+
+    private TabSpec(Builder builder) {
+        this.id = builder.id;
+        this.iconResId = builder.iconResId;
+        this.title = builder.title;
+        this.inActiveColor = builder.inActiveColor;
+        this.activeColor = builder.activeColor;
+        this.barColorWhenSelected = builder.barColorWhenSelected;
+        this.badgeBackgroundColor = builder.badgeBackgroundColor;
+        this.badgeHidesWhenActive = builder.badgeHidesWhenActive;
+        this.isTitleless = builder.isTitleless;
+    }
+
+    @IdRes
+    public int getId() {
+        return id;
+    }
+
+    @DrawableRes
+    public int getIconResId() {
+        return iconResId;
+    }
+
+    @Nullable
+    public String getTitle() {
+        return title;
+    }
+
+    @Nullable
+    @ColorInt
+    public Integer getInActiveColor() {
+        return inActiveColor;
+    }
+
+    @Nullable
+    @ColorInt
+    public Integer getActiveColor() {
+        return activeColor;
+    }
+
+    @Nullable
+    @ColorInt
+    public Integer getBarColorWhenSelected() {
+        return barColorWhenSelected;
+    }
+
+    @Nullable
+    @ColorInt
+    public Integer getBadgeBackgroundColor() {
+        return badgeBackgroundColor;
+    }
+
+    @Nullable
+    public Boolean getBadgeHidesWhenActive() {
+        return badgeHidesWhenActive;
+    }
+
+    public boolean isTitleless() {
+        return isTitleless;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabSpec)) return false;
+
+        TabSpec other = (TabSpec) o;
+        return id == other.id
+                && iconResId == other.iconResId
+                && isTitleless == other.isTitleless
+                && equal(title, other.title)
+                && equal(inActiveColor, other.inActiveColor)
+                && equal(activeColor, other.activeColor)
+                && equal(barColorWhenSelected, other.barColorWhenSelected)
+                && equal(badgeBackgroundColor, other.badgeBackgroundColor)
+                && equal(badgeHidesWhenActive, other.badgeHidesWhenActive);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id;
+        result = 31 * result + iconResId;
+        result = 31 * result + (title != null ? title.hashCode() : 0);
+        result = 31 * result + (inActiveColor != null ? inActiveColor.hashCode() : 0);
+        result = 31 * result + (activeColor != null ? activeColor.hashCode() : 0);
+        result = 31 * result + (barColorWhenSelected != null ? barColorWhenSelected.hashCode() : 0);
+        result = 31 * result + (badgeBackgroundColor != null ? badgeBackgroundColor.hashCode() : 0);
+        result = 31 * result + (badgeHidesWhenActive != null ? badgeHidesWhenActive.hashCode() : 0);
+        result = 31 * result + (isTitleless ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TabSpec{id=" + id + ", title=" + title + "}";
+    }
+
+    private static boolean equal(@Nullable Object a, @Nullable Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    public static class Builder {
+        private int id;
+        private int iconResId;
+        private String title;
+        private Integer inActiveColor;
+        private Integer activeColor;
+        private Integer barColorWhenSelected;
+        private Integer badgeBackgroundColor;
+        private Boolean badgeHidesWhenActive;
+        private boolean isTitleless;
+
+        public Builder id(@IdRes int id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder iconResId(@DrawableRes int iconResId) {
+            this.iconResId = iconResId;
+            return this;
+        }
+
+        public Builder title(@Nullable String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder inActiveColor(@ColorInt int color) {
+            this.inActiveColor = color;
+            return this;
+        }
+
+        public Builder activeColor(@ColorInt int color) {
+            this.activeColor = color;
+            return this;
+        }
+
+        public Builder barColorWhenSelected(@ColorInt int color) {
+            this.barColorWhenSelected = color;
+            return this;
+        }
+
+        public Builder badgeBackgroundColor(@ColorInt int color) {
+            this.badgeBackgroundColor = color;
+            return this;
+        }
+
+        public Builder badgeHidesWhenActive(boolean hides) {
+            this.badgeHidesWhenActive = hides;
+            return this;
+        }
+
+        public Builder titleless(boolean titleless) {
+            this.isTitleless = titleless;
+            return this;
+        }
+
+        public TabSpec build() {
+            return new TabSpec(this);
+        }
+    }
+}
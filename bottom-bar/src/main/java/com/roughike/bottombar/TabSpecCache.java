@@ -0,0 +1,148 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.XmlRes;
+import android.util.LruCache;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Process-wide cache for parsed tab XML resources.
+ * <p>
+ * Titles and colors are resolved while parsing, so the parsed result is only
+ * reused for the same locale, night mode and screen density. Tabs with colors
+ * from color state lists, which can refer to theme attributes, are only reused
+ * for the same {@link Resources.Theme} too.
+ */
+final class TabSpecCache {
+    private static final int MAX_ENTRIES = 8;
+
+    private static final LruCache<Key, Entry> CACHE = new LruCache<>(MAX_ENTRIES);
+
+    private TabSpecCache() {
+    }
+
+    /**
+     * Returns the parsed tabs for the given XML resource, parsing it only
+     * if it hasn't been parsed for the current configuration yet. Resources
+     * compiled at build time are created by their {@link TabSpecProvider}
+     * instead of being parsed. Their colors can't be inspected, so they're
+     * always treated as depending on the theme.
+     */
+    @NonNull
+    static List<TabSpec> get(@NonNull Context context, @XmlRes int xmlRes) {
+        Key key = new Key(xmlRes, context.getResources());
+        Resources.Theme theme = context.getTheme();
+        Entry entry = CACHE.get(key);
+
+        if (entry == null || !entry.isValidFor(theme)) {
+            TabSpecProvider provider = TabSpecRegistry.getProvider(xmlRes);
+
+            if (provider != null) {
+                entry = new Entry(provider.createTabSpecs(context), theme);
+            } else {
+                TabParser parser = new TabParser(context, xmlRes);
+                List<TabSpec> specs = parser.parseTabs();
+                entry = new Entry(specs, parser.usesThemedColors() ? theme : null);
+            }
+
+            CACHE.put(key, entry);
+        }
+
+        return entry.specs;
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static final class Entry {
+        private final List<TabSpec> specs;
+
+        // Weak, so the cache doesn't keep the Activity of the theme alive.
+        @Nullable
+        private final WeakReference<Resources.Theme> theme;
+
+        Entry(@NonNull List<TabSpec> specs, @Nullable Resources.Theme theme) {
+            this.specs = specs;
+            this.theme = theme != null ? new WeakReference<>(theme) : null;
+        }
+
+        boolean isValidFor(@NonNull Resources.Theme theme) {
+            return this.theme == null || this.theme.get() == theme;
+        }
+    }
+
+    private static final class Key {
+        private final int xmlRes;
+        private final Locale locale;
+        private final int nightMode;
+        private final int densityDpi;
+
+        Key(@XmlRes int xmlRes, @NonNull Resources resources) {
+            Configuration configuration = resources.getConfiguration();
+
+            this.xmlRes = xmlRes;
+            this.locale = getLocale(configuration);
+            this.nightMode = configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK;
+            this.densityDpi = resources.getDisplayMetrics().densityDpi;
+        }
+
+        @SuppressWarnings("deprecation")
+        private static Locale getLocale(@NonNull Configuration configuration) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                return configuration.getLocales().get(0);
+            }
+
+            return configuration.locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return xmlRes == other.xmlRes
+                    && nightMode == other.nightMode
+                    && densityDpi == other.densityDpi
+                    && (locale != null ? locale.equals(other.locale) : other.locale == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = xmlRes;
+            result = 31 * result + (locale != null ? locale.hashCode() : 0);
+            result = 31 * result + nightMode;
+            result = 31 * result + densityDpi;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The difference between two lists of {@link TabSpec}s, matched by tab id.
+ * <p>
+ * For every position in the new list it tells where the tab was in the old list,
+ * or {@link #NO_POSITION} if it's a new tab, and whether any of its values changed.
+ * Old tabs that have no match in the new list are removed.
+ */
+final class TabSpecDiff {
+    static final int NO_POSITION = -1;
+
+    private final int[] oldPositions;
+    private final boolean[] changed;
+    private final int[] removedPositions;
+    private final boolean hasStructuralChanges;
+
+    private TabSpecDiff(int[] oldPositions, boolean[] changed, int[] removedPositions,
+                        boolean hasStructuralChanges) {
+        this.oldPositions = oldPositions;
+        this.changed = changed;
+        this.removedPositions = removedPositions;
+        this.hasStructuralChanges = hasStructuralChanges;
+    }
+
+    @NonNull
+    static TabSpecDiff calculate(@NonNull List<TabSpec> oldSpecs, @NonNull List<TabSpec> newSpecs) {
+        int oldCount = oldSpecs.size();
+        int newCount = newSpecs.size();
+        Map<Integer, Integer> oldPositionsById = new HashMap<>(oldCount * 2);
+
+        for (int i = oldCount - 1; i >= 0; i--) {
+            oldPositionsById.put(oldSpecs.get(i).getId(), i);
+        }
+
+        int[] oldPositions = new int[newCount];
+        boolean[] changed = new boolean[newCount];
+        boolean[] kept = new boolean[oldCount];
+        boolean hasStructuralChanges = oldCount != newCount;
+
+        for (int i = 0; i < newCount; i++) {
+            TabSpec spec = newSpecs.get(i);
+            Integer oldPosition = oldPositionsById.get(spec.getId());
+
+            // Tabs sharing an id with an already matched tab are treated as new.
+            if (oldPosition == null || kept[oldPosition]) {
+                oldPositions[i] = NO_POSITION;
+                hasStructuralChanges = true;
+                continue;
+            }
+
+            kept[oldPosition] = true;
+            oldPositions[i] = oldPosition;
+            changed[i] = !oldSpecs.get(oldPosition).equals(spec);
+
+            if (oldPosition != i) {
+                hasStructuralChanges = true;
+            }
+        }
+
+        int removedCount = 0;
+
+        for (boolean isKept : kept) {
+            if (!isKept) removedCount++;
+        }
+
+        int[] removedPositions = new int[removedCount];
+
+        for (int i = 0, r = 0; i < oldCount; i++) {
+            if (!kept[i]) {
+                removedPositions[r++] = i;
+            }
+        }
+
+        return new TabSpecDiff(oldPositions, changed, removedPositions, hasStructuralChanges);
+    }
+
+    int getNewCount() {
+        return oldPositions.length;
+    }
+
+    /**
+     * Returns the old position of the tab at the given new position, or
+     * {@link #NO_POSITION} if the tab was inserted.
+     */
+    int getOldPosition(int newPosition) {
+        return oldPositions[newPosition];
+    }
+
+    /**
+     * Whether the tab at the given new position existed before with different values.
+     */
+    boolean isChanged(int newPosition) {
+        return changed[newPosition];
+    }
+
+    @NonNull
+    int[] getRemovedPositions() {
+        return removedPositions;
+    }
+
+    /**
+     * Whether any tabs were inserted, removed or moved.
+     */
+    boolean hasStructuralChanges() {
+        return hasStructuralChanges;
+    }
+
+    boolean hasChanges() {
+        if (hasStructuralChanges) {
+            return true;
+        }
+
+        for (boolean isChanged : changed) {
+            if (isChanged) return true;
+        }
+
+        return false;
+    }
+}
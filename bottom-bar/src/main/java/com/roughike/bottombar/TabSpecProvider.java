@@ -0,0 +1,34 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface TabSpecProvider {
+    /**
+     * Creates the {@link TabSpec}s that a tab XML resource would have been parsed into.
+     *
+     * @param context the Context for resolving titles and colors.
+     * @return the TabSpecs, in the order they appear in the BottomBar.
+     */
+    @NonNull
+    List<TabSpec> createTabSpecs(@NonNull Context context);
+}
@@ -0,0 +1,53 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.XmlRes;
+import android.util.SparseArray;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Holds the {@link TabSpecProvider}s that replace parsing of tab XML resources.
+ * <p>
+ * The BottomBarTabSpecs class generated by the {@code tabspecs.gradle} build script
+ * registers a provider for every tab XML resource it compiled.
+ */
+public final class TabSpecRegistry {
+    private static final SparseArray<TabSpecProvider> PROVIDERS = new SparseArray<>();
+
+    private TabSpecRegistry() {
+    }
+
+    /**
+     * Use the given provider instead of parsing the tab XML resource.
+     */
+    public static void register(@XmlRes int xmlRes, @NonNull TabSpecProvider provider) {
+        synchronized (PROVIDERS) {
+            PROVIDERS.put(xmlRes, provider);
+        }
+    }
+
+    @Nullable
+    static TabSpecProvider getProvider(@XmlRes int xmlRes) {
+        synchronized (PROVIDERS) {
+            return PROVIDERS.get(xmlRes);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The container holding the tabs of a phone sized BottomBar.
+ * <p>
+ * Computes the fixed or shifting width of every tab in its own measure pass and
+ * lays them out centered next to each other within its padding, so the tabs
+ * never need their LayoutParams changed to get the correct size. In RTL, the
+ * first tab is on the right.
+ * <p>
+ * In shifting mode, a selection change is laid out once with the final widths.
+ * The tabs then start where they were before and slide into their new place
+ * with translationX, so the animation itself causes no layout passes. The
+ * slide is driven by the {@link SelectionTransition} of the BottomBar.
+ */
+class TabStripLayout extends ViewGroup {
+    private final int itemHeight;
+    private final int maxFixedItemWidth;
+
+    private boolean isShifting;
+    private int[] childWidths = new int[0];
+    private float[] startCenters = new float[0];
+    private float[] centerOffsets = new float[0];
+    private boolean hasPendingOffsets;
+
+    private int selectedIndex;
+    private float selectionFraction = 1;
+
+    public TabStripLayout(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public TabStripLayout(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        itemHeight = getResources().getDimensionPixelSize(R.dimen.bb_height);
+        maxFixedItemWidth = MiscUtils.dpToPixel(context, 168);
+    }
+
+    void setShifting(boolean isShifting) {
+        if (this.isShifting != isShifting) {
+            this.isShifting = isShifting;
+            requestLayout();
+        }
+    }
+
+    /**
+     * Sets the position of the selected tab. Only affects the tab widths in
+     * shifting mode. When animated, the tabs start from where they currently
+     * are and move as {@link #setSelectionFraction(float)} goes to 1.
+     */
+    void setSelectedIndex(int index, boolean animate) {
+        if (index == selectedIndex && (animate || selectionFraction == 1)) {
+            return;
+        }
+
+        int previousIndex = selectedIndex;
+        selectedIndex = index;
+
+        if (!isShifting) {
+            selectionFraction = 1;
+            return;
+        }
+
+        if (animate && previousIndex != index) {
+            captureStartCenters();
+            selectionFraction = 0;
+        } else {
+            hasPendingOffsets = false;
+            selectionFraction = 1;
+            Arrays.fill(centerOffsets, 0);
+            applyOffsets();
+        }
+
+        requestLayout();
+    }
+
+    void setSelectionFraction(float fraction) {
+        selectionFraction = fraction;
+
+        if (!hasPendingOffsets) {
+            applyOffsets();
+        }
+    }
+
+    private void captureStartCenters() {
+        int childCount = getChildCount();
+        ensureCapacity(childCount);
+
+        for (int i = 0; i < childCount; i++) {
+            View child = getChildAt(i);
+            startCenters[i] = child.getLeft() + child.getWidth() / 2f + child.getTranslationX();
+        }
+
+        hasPendingOffsets = true;
+    }
+
+    private void applyOffsets() {
+        int childCount = Math.min(getChildCount(), centerOffsets.length);
+        float remaining = 1 - selectionFraction;
+
+        for (int i = 0; i < childCount; i++) {
+            getChildAt(i).setTranslationX(centerOffsets[i] * remaining);
+        }
+    }
+
+    private void ensureCapacity(int childCount) {
+        if (childWidths.length < childCount) {
+            childWidths = new int[childCount];
+            startCenters = new float[childCount];
+            centerOffsets = new float[childCount];
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int childCount = getChildCount();
+        int visibleCount = 0;
+
+        for (int i = 0; i < childCount; i++) {
+            if (getChildAt(i).getVisibility() != GONE) {
+                visibleCount++;
+            }
+        }
+
+        ensureCapacity(childCount);
+
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int availableWidth = widthMode == MeasureSpec.UNSPECIFIED
+                ? visibleCount * maxFixedItemWidth
+                : Math.max(0, MeasureSpec.getSize(widthMeasureSpec) - getPaddingLeft() - getPaddingRight());
+
+        int proposedWidth = visibleCount > 0
+                ? Math.min(availableWidth / visibleCount, maxFixedItemWidth)
+                : 0;
+        int inActiveShiftingWidth = (int) (proposedWidth * 0.9);
+        int activeShiftingWidth = (int) (proposedWidth + (proposedWidth * ((visibleCount - 1) * 0.1)));
+
+        int childHeightSpec = MeasureSpec.makeMeasureSpec(itemHeight, MeasureSpec.EXACTLY);
+        int totalWidth = 0;
+
+        for (int i = 0; i < childCount; i++) {
+            View child = getChildAt(i);
+
+            if (child.getVisibility() == GONE) {
+                continue;
+            }
+
+            int width;
+
+            if (isShifting) {
+                width = i == selectedIndex ? activeShiftingWidth : inActiveShiftingWidth;
+            } else {
+                width = proposedWidth;
+            }
+
+            childWidths[i] = width;
+            totalWidth += width;
+            child.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY), childHeightSpec);
+        }
+
+        int measuredWidth = widthMode == MeasureSpec.UNSPECIFIED
+                ? totalWidth + getPaddingLeft() + getPaddingRight()
+                : MeasureSpec.getSize(widthMeasureSpec);
+
+        setMeasuredDimension(measuredWidth, resolveSize(
+                itemHeight + getPaddingTop() + getPaddingBottom(), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        int childCount = getChildCount();
+        int totalWidth = 0;
+
+        for (int i = 0; i < childCount; i++) {
+            if (getChildAt(i).getVisibility() != GONE) {
+                totalWidth += childWidths[i];
+            }
+        }
+
+        int contentWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        int contentHeight = getHeight() - getPaddingTop() - getPaddingBottom();
+        int left = getPaddingLeft() + (contentWidth - totalWidth) / 2;
+        int top = getPaddingTop() + (contentHeight - itemHeight) / 2;
+        boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+
+        // Like a horizontal LinearLayout, the first tab is on the right in RTL.
+        int right = left + totalWidth;
+
+        for (int i = 0; i < childCount; i++) {
+            View child = getChildAt(i);
+
+            if (child.getVisibility() == GONE) {
+                continue;
+            }
+
+            if (isRtl) {
+                child.layout(right - childWidths[i], top, right, top + itemHeight);
+                right -= childWidths[i];
+            } else {
+                child.layout(left, top, left + childWidths[i], top + itemHeight);
+                left += childWidths[i];
+            }
+
+            if (hasPendingOffsets) {
+                centerOffsets[i] = startCenters[i] - (child.getLeft() + childWidths[i] / 2f);
+            }
+        }
+
+        if (hasPendingOffsets) {
+            hasPendingOffsets = false;
+            applyOffsets();
+        }
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+    }
+
+    @Override
+    public boolean shouldDelayChildPressedState() {
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package com.roughike.bottombar;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Keeps the {@link BottomBarTab}s of a BottomBar around when its items are
+ * replaced, so the next set of items can rebind them instead of creating new
+ * ones. Tabs are pooled by the {@link BottomBarTab.Type} their children were
+ * created for; a pooled tab only creates the children it's still missing.
+ */
+class TabViewPool {
+    private static final int MAX_TABS_PER_TYPE = 8;
+
+    private final EnumMap<BottomBarTab.Type, List<BottomBarTab>> pools =
+            new EnumMap<>(BottomBarTab.Type.class);
+
+    /**
+     * Returns a recycled tab for the given type, or null if there is none.
+     */
+    @Nullable
+    BottomBarTab obtain(@NonNull BottomBarTab.Type type) {
+        List<BottomBarTab> pool = getPool(type);
+
+        if (pool.isEmpty()) {
+            return null;
+        }
+
+        return pool.remove(pool.size() - 1);
+    }
+
+    /**
+     * Puts a detached tab into the pool. Tabs that never had their children
+     * created are not kept.
+     */
+    void release(@NonNull BottomBarTab tab) {
+        BottomBarTab.Type builtType = tab.getBuiltType();
+
+        if (builtType == null) {
+            return;
+        }
+
+        List<BottomBarTab> pool = getPool(builtType);
+
+        if (pool.size() < MAX_TABS_PER_TYPE) {
+            pool.add(tab);
+        }
+    }
+
+    void clear() {
+        pools.clear();
+    }
+
+    private List<BottomBarTab> getPool(BottomBarTab.Type type) {
+        List<BottomBarTab> pool = pools.get(type);
+
+        if (pool == null) {
+            pool = new ArrayList<>(MAX_TABS_PER_TYPE);
+            pools.put(type, pool);
+        }
+
+        return pool;
+    }
+}
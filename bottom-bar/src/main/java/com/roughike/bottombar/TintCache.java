@@ -0,0 +1,80 @@
+package com.roughike.bottombar;
+
+import android.content.res.ColorStateList;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Process-wide cache for the color filters and text colors used to tint tabs,
+ * so animating a tab between the same colors again doesn't allocate.
+ * Tabs can be created on a background thread by {@link AsyncBottomBarBuilder},
+ * so the caches are guarded by a lock.
+ */
+final class TintCache {
+    private static final int MAX_ENTRIES = 128;
+
+    private static final Object LOCK = new Object();
+
+    private static final SparseArray<PorterDuffColorFilter> COLOR_FILTERS = new SparseArray<>();
+    private static final SparseArray<ColorStateList> TEXT_COLORS = new SparseArray<>();
+
+    private TintCache() {
+    }
+
+    @NonNull
+    static PorterDuffColorFilter getColorFilter(@ColorInt int color) {
+        synchronized (LOCK) {
+            PorterDuffColorFilter filter = COLOR_FILTERS.get(color);
+
+            if (filter == null) {
+                if (COLOR_FILTERS.size() >= MAX_ENTRIES) {
+                    COLOR_FILTERS.clear();
+                }
+
+                filter = new PorterDuffColorFilter(color, PorterDuff.Mode.SRC_ATOP);
+                COLOR_FILTERS.put(color, filter);
+            }
+
+            return filter;
+        }
+    }
+
+    @NonNull
+    static ColorStateList getTextColors(@ColorInt int color) {
+        synchronized (LOCK) {
+            ColorStateList colors = TEXT_COLORS.get(color);
+
+            if (colors == null) {
+                if (TEXT_COLORS.size() >= MAX_ENTRIES) {
+                    TEXT_COLORS.clear();
+                }
+
+                colors = ColorStateList.valueOf(color);
+                TEXT_COLORS.put(color, colors);
+            }
+
+            return colors;
+        }
+    }
+}
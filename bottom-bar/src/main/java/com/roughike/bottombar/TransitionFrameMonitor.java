@@ -0,0 +1,173 @@
+package com.roughike.bottombar;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.support.annotation.IdRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.WindowManager;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Times the frames of every selection change of a BottomBar with the
+ * {@link Choreographer}, from the moment the {@link OnTabSelectListener} returned
+ * until the transition has settled.
+ * <p>
+ * The first frame isn't timed: it also runs the work the listener deferred,
+ * such as a fragment transaction, which would otherwise count as slow frames
+ * of the BottomBar.
+ * <p>
+ * Every finished record goes to the {@link AnimationPolicy}, and to an optional
+ * {@link OnTransitionFramesListener}. The frame after the transition also ends
+ * the tab change measured by the {@link BottomBarMetrics}. Records are plain
+ * counters, so nothing is allocated per frame. Frames are only timed on API 16
+ * and up. Must only be used from the main thread.
+ */
+final class TransitionFrameMonitor {
+    /**
+     * A frame taking longer than this many refresh intervals counts as slow.
+     */
+    private static final float SLOW_FRAME_FACTOR = 1.5f;
+
+    private final AnimationPolicy policy;
+    private final BottomBarMetrics metrics;
+    private final long slowFrameNanos;
+
+    @Nullable
+    private OnTransitionFramesListener listener;
+
+    private Object frameCallback;
+    private boolean isMonitoring;
+    private boolean isSettling;
+    private boolean hasFirstFrame;
+
+    private int fromTabId;
+    private int toTabId;
+    private long lastFrameTimeNanos;
+    private int frameCount;
+    private int slowFrameCount;
+    private long worstFrameNanos;
+
+    TransitionFrameMonitor(@NonNull Context context, @NonNull AnimationPolicy policy,
+                           @NonNull BottomBarMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+
+        float refreshRate = getRefreshRate(context);
+        slowFrameNanos = (long) (SLOW_FRAME_FACTOR * 1000000000L / refreshRate);
+    }
+
+    private static float getRefreshRate(@NonNull Context context) {
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        Display display = windowManager != null ? windowManager.getDefaultDisplay() : null;
+        float refreshRate = display != null ? display.getRefreshRate() : 0;
+
+        return refreshRate >= 1 ? refreshRate : 60;
+    }
+
+    void setListener(@Nullable OnTransitionFramesListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts a new record. Must be called after the selection listener has
+     * returned. A record that's still running is reported first.
+     */
+    void start(@IdRes int fromTabId, @IdRes int toTabId) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+            return;
+        }
+
+        if (isMonitoring) {
+            report();
+        }
+
+        this.fromTabId = fromTabId;
+        this.toTabId = toTabId;
+        frameCount = 0;
+        slowFrameCount = 0;
+        worstFrameNanos = 0;
+        isSettling = false;
+        hasFirstFrame = false;
+
+        if (!isMonitoring) {
+            isMonitoring = true;
+            postFrameCallback();
+        }
+    }
+
+    /**
+     * Ends the running record after the next frame, which draws the final state.
+     */
+    void onTransitionEnd() {
+        if (isMonitoring) {
+            isSettling = true;
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (frameCallback == null) {
+            frameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    onFrame(frameTimeNanos);
+                }
+            };
+        }
+
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        if (hasFirstFrame) {
+            long frameNanos = Math.max(0, frameTimeNanos - lastFrameTimeNanos);
+
+            frameCount++;
+            worstFrameNanos = Math.max(worstFrameNanos, frameNanos);
+
+            if (frameNanos > slowFrameNanos) {
+                slowFrameCount++;
+            }
+        }
+
+        hasFirstFrame = true;
+        lastFrameTimeNanos = frameTimeNanos;
+
+        if (isSettling) {
+            isMonitoring = false;
+            metrics.onFrameAfterTransition();
+            report();
+        } else {
+            postFrameCallback();
+        }
+    }
+
+    private void report() {
+        policy.onTransitionMeasured(frameCount, slowFrameCount);
+
+        if (listener != null) {
+            listener.onTransitionFrames(fromTabId, toTabId, frameCount, slowFrameCount, worstFrameNanos);
+        }
+    }
+}
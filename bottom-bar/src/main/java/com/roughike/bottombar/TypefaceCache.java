@@ -0,0 +1,161 @@
+package com.roughike.bottombar;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * BottomBar library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ * Copyright (c) 2018 hanseatics (http://github.com/hanseatics).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Process-wide cache for typefaces loaded from assets, keyed by asset path.
+ * <p>
+ * Every font file is read and parsed only once. Older platform versions never
+ * free a typeface created from an asset, so creating one per BottomBar used to
+ * leak as well. On the main thread, fonts that aren't cached yet are loaded in
+ * the background, and the callback runs on the main thread once they're ready.
+ * Off the main thread, such as while building a BottomBar asynchronously, they're
+ * loaded right away.
+ */
+final class TypefaceCache {
+    private static final String TAG = "BottomBar";
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, Typeface> TYPEFACES = new HashMap<>();
+
+    /**
+     * Callbacks waiting for a font by its path. Only used on the main thread.
+     */
+    private static final Map<String, List<Callback>> PENDING_CALLBACKS = new HashMap<>();
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    interface Callback {
+        void onTypefaceLoaded(@NonNull Typeface typeface);
+    }
+
+    private TypefaceCache() {
+    }
+
+    /**
+     * Gets the typeface for the given asset path. Cached typefaces, and all
+     * typefaces requested off the main thread, are passed to the callback before
+     * this returns. The callback isn't called if the font can't be loaded.
+     */
+    static void load(@NonNull Context context, @NonNull final String fontPath, @NonNull Callback callback) {
+        Typeface typeface = getCached(fontPath);
+
+        if (typeface == null && Looper.myLooper() != Looper.getMainLooper()) {
+            typeface = createFromAsset(context.getAssets(), fontPath);
+        }
+
+        if (typeface != null) {
+            callback.onTypefaceLoaded(typeface);
+            return;
+        }
+
+        List<Callback> callbacks = PENDING_CALLBACKS.get(fontPath);
+
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return;
+        }
+
+        callbacks = new ArrayList<>(1);
+        callbacks.add(callback);
+        PENDING_CALLBACKS.put(fontPath, callbacks);
+
+        final AssetManager assets = context.getAssets();
+
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Typeface loaded = createFromAsset(assets, fontPath);
+
+                MAIN_HANDLER.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliver(fontPath, loaded);
+                    }
+                });
+            }
+        });
+    }
+
+    @Nullable
+    static Typeface getCached(@NonNull String fontPath) {
+        synchronized (LOCK) {
+            return TYPEFACES.get(fontPath);
+        }
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (LOCK) {
+            TYPEFACES.clear();
+        }
+    }
+
+    private static void deliver(@NonNull String fontPath, @Nullable Typeface typeface) {
+        List<Callback> callbacks = PENDING_CALLBACKS.remove(fontPath);
+
+        if (typeface == null || callbacks == null) {
+            return;
+        }
+
+        for (Callback callback : callbacks) {
+            callback.onTypefaceLoaded(typeface);
+        }
+    }
+
+    @Nullable
+    private static Typeface createFromAsset(@NonNull AssetManager assets, @NonNull String fontPath) {
+        Typeface typeface;
+
+        try {
+            typeface = Typeface.createFromAsset(assets, fontPath);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Couldn't load the typeface from assets/" + fontPath, e);
+            return null;
+        }
+
+        synchronized (LOCK) {
+            // Another thread may have loaded the same font meanwhile; keep the first one.
+            Typeface cached = TYPEFACES.get(fontPath);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            TYPEFACES.put(fontPath, typeface);
+            return typeface;
+        }
+    }
+}
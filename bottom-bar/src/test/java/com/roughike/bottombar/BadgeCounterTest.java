@@ -0,0 +1,86 @@
+package com.roughike.bottombar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BadgeCounterTest {
+    private final AtomicInteger dirtyNotifications = new AtomicInteger();
+    private BadgeCounter counter;
+
+    @Before
+    public void setUp() {
+        counter = new BadgeCounter(1, 0, new BadgeCounter.OnDirtyListener() {
+            @Override
+            public void onCounterDirty() {
+                dirtyNotifications.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void burstOfChanges_NotifiesOnlyOnce() {
+        counter.increment();
+        counter.increment();
+        counter.set(10);
+        counter.decrement();
+
+        assertEquals(9, counter.get());
+        assertEquals(1, dirtyNotifications.get());
+    }
+
+    @Test
+    public void changeAfterTakingDirty_NotifiesAgain() {
+        counter.increment();
+        assertTrue(counter.takeDirty());
+        assertFalse(counter.takeDirty());
+
+        counter.increment();
+        assertEquals(2, dirtyNotifications.get());
+    }
+
+    @Test
+    public void decrement_StopsAtZero() {
+        counter.set(1);
+
+        assertEquals(0, counter.decrement());
+        assertEquals(0, counter.decrement());
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void negativeSet_IsTreatedAsZero() {
+        counter.set(-5);
+
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void concurrentIncrements_AreNotLost() throws InterruptedException {
+        final int threads = 4;
+        final int incrementsPerThread = 10000;
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        counter.increment();
+                    }
+
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        done.await();
+        assertEquals(threads * incrementsPerThread, counter.get());
+    }
+}
@@ -0,0 +1,96 @@
+package com.roughike.bottombar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BottomBarMetricsTest {
+    private BottomBarMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new BottomBarMetrics();
+    }
+
+    @Test
+    public void touchedTabChange_RecordsEveryPhase() {
+        metrics.onTouchDown();
+        metrics.onClick();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.onTransitionEnd();
+        metrics.onFrameAfterTransition();
+
+        for (BottomBarMetrics.Phase phase : BottomBarMetrics.Phase.values()) {
+            assertEquals(phase.name(), 1, metrics.getSnapshot(phase).getCount());
+        }
+    }
+
+    @Test
+    public void transitionEndingBeforeListener_RecordsZeroTransition() {
+        metrics.onClick();
+        metrics.onTransitionEnd();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.onFrameAfterTransition();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.TRANSITION).getMaxNanos());
+        assertEquals(1, metrics.getSnapshot(BottomBarMetrics.Phase.FIRST_FRAME).getCount());
+    }
+
+    @Test
+    public void clickWithoutTouch_SkipsTouchPhases() {
+        metrics.onClick();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.onTransitionEnd();
+        metrics.onFrameAfterTransition();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.TOUCH_TO_CLICK).getCount());
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.TOTAL).getCount());
+        assertEquals(1, metrics.getSnapshot(BottomBarMetrics.Phase.LISTENER).getCount());
+    }
+
+    @Test
+    public void frameBeforeTransitionEnd_DoesNotFinish() {
+        metrics.onClick();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.onFrameAfterTransition();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.FIRST_FRAME).getCount());
+    }
+
+    @Test
+    public void touchEndingWithoutClick_IsNotTimedByNextClick() {
+        metrics.onTouchDown();
+        metrics.onTouchEnd();
+        metrics.onClick();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.TOUCH_TO_CLICK).getCount());
+    }
+
+    @Test
+    public void cancelled_RecordsNothingMore() {
+        metrics.onClick();
+        metrics.cancel();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.onTransitionEnd();
+        metrics.onFrameAfterTransition();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.SELECTION).getCount());
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.FIRST_FRAME).getCount());
+    }
+
+    @Test
+    public void reset_ClearsEveryPhase() {
+        metrics.onClick();
+        metrics.onListenerStart();
+        metrics.onListenerEnd();
+        metrics.reset();
+
+        assertEquals(0, metrics.getSnapshot(BottomBarMetrics.Phase.LISTENER).getCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.roughike.bottombar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    private static final long MILLISECOND = 1000000L;
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void empty_ReportsZeroes() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    public void percentiles_AreWithinBucketWidth() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * MILLISECOND);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(MILLISECOND, histogram.getMinNanos());
+        assertEquals(100 * MILLISECOND, histogram.getMaxNanos());
+        assertEquals(50 * MILLISECOND + MILLISECOND / 2, histogram.getMeanNanos());
+        assertWithinBucket(50 * MILLISECOND, histogram.getPercentileNanos(50));
+        assertWithinBucket(90 * MILLISECOND, histogram.getPercentileNanos(90));
+        assertEquals(100 * MILLISECOND, histogram.getPercentileNanos(100));
+        assertEquals(MILLISECOND, histogram.getPercentileNanos(0));
+    }
+
+    @Test
+    public void outOfRangeDurations_AreClamped() {
+        histogram.record(-5);
+        histogram.record(60000 * MILLISECOND);
+
+        assertEquals(0, histogram.getMinNanos());
+        assertTrue(histogram.getPercentileNanos(50) <= 10000);
+        assertEquals(60000 * MILLISECOND, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void copy_IsIndependent() {
+        histogram.record(MILLISECOND);
+        LatencyHistogram copy = new LatencyHistogram(histogram);
+        histogram.record(2 * MILLISECOND);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(MILLISECOND, copy.getMaxNanos());
+    }
+
+    @Test
+    public void reset_ForgetsEverything() {
+        histogram.record(MILLISECOND);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileAbove100_Throws() {
+        histogram.getPercentileNanos(101);
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                actual >= expected && actual <= expected * 1.25);
+    }
+}
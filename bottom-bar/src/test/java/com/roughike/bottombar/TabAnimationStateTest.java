@@ -0,0 +1,94 @@
+package com.roughike.bottombar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class TabAnimationStateTest {
+    private static final int RED = 0xFFFF0000;
+    private static final int BLUE = 0xFF0000FF;
+
+    private TabAnimationState state;
+    private long blackhole;
+
+    @Before
+    public void setUp() {
+        state = new TabAnimationState()
+                .color(RED, BLUE)
+                .alpha(0.6f, 1)
+                .titleScale(0.86f, 1)
+                .iconScale(1, 1.24f)
+                .padding(16, 6);
+    }
+
+    @Test
+    public void blendArgb_BlendsEveryChannel() {
+        assertEquals(0x80808080, TabAnimationState.blendArgb(0x00000000, 0xFFFFFFFF, 0.5f));
+        assertEquals(RED, TabAnimationState.blendArgb(RED, BLUE, 0));
+        assertEquals(BLUE, TabAnimationState.blendArgb(RED, BLUE, 1));
+    }
+
+    @Test
+    public void endpoints_AreExact() {
+        assertEquals(RED, state.colorAt(0));
+        assertEquals(BLUE, state.colorAt(1));
+        assertEquals(0.6f, state.alphaAt(0), 0);
+        assertEquals(1, state.alphaAt(1), 0);
+        assertEquals(16, state.paddingAt(0));
+        assertEquals(6, state.paddingAt(1));
+        assertEquals(6, state.getToPadding());
+    }
+
+    @Test
+    public void colors_AreQuantizedToFewSteps() {
+        assertEquals(state.colorAt(0.5f), state.colorAt(0.51f));
+    }
+
+    @Test
+    public void repeatedTransitions_DoNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up, so class loading and compilation don't count.
+        runTransitions(1000);
+
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        blackhole = runTransitions(1000);
+        long after = allocations.getThreadAllocatedBytes(threadId);
+
+        assertEquals(0, after - before);
+    }
+
+    private long runTransitions(int count) {
+        long sink = 0;
+
+        for (int i = 0; i < count; i++) {
+            boolean selecting = i % 2 == 0;
+            state.color(selecting ? RED : BLUE, selecting ? BLUE : RED)
+                    .alpha(selecting ? 0.6f : 1, selecting ? 1 : 0.6f)
+                    .padding(selecting ? 16 : 6, selecting ? 6 : 16);
+
+            for (int frame = 0; frame <= 10; frame++) {
+                float fraction = frame / 10f;
+                sink += state.colorAt(fraction);
+                sink += (long) (state.alphaAt(fraction) * 100);
+                sink += (long) (state.titleScaleAt(fraction) * 100);
+                sink += (long) (state.iconScaleAt(fraction) * 100);
+                sink += state.paddingAt(fraction);
+            }
+        }
+
+        return sink;
+    }
+}
@@ -0,0 +1,90 @@
+package com.roughike.bottombar;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TabSpecDiffTest {
+    private static final TabSpec RECENTS = tab(1, "Recents");
+    private static final TabSpec FAVORITES = tab(2, "Favorites");
+    private static final TabSpec NEARBY = tab(3, "Nearby");
+
+    @Test
+    public void sameSpecs_HaveNoChanges() {
+        TabSpecDiff diff = TabSpecDiff.calculate(specs(RECENTS, FAVORITES), specs(RECENTS, FAVORITES));
+
+        assertFalse(diff.hasChanges());
+        assertFalse(diff.hasStructuralChanges());
+        assertEquals(0, diff.getOldPosition(0));
+        assertEquals(1, diff.getOldPosition(1));
+    }
+
+    @Test
+    public void changedTitle_IsAPropertyChangeOnly() {
+        TabSpecDiff diff = TabSpecDiff.calculate(
+                specs(RECENTS, FAVORITES),
+                specs(RECENTS, tab(2, "Starred")));
+
+        assertTrue(diff.hasChanges());
+        assertFalse(diff.hasStructuralChanges());
+        assertFalse(diff.isChanged(0));
+        assertTrue(diff.isChanged(1));
+    }
+
+    @Test
+    public void insertedTab_HasNoOldPosition() {
+        TabSpecDiff diff = TabSpecDiff.calculate(specs(RECENTS, NEARBY), specs(RECENTS, FAVORITES, NEARBY));
+
+        assertTrue(diff.hasStructuralChanges());
+        assertEquals(3, diff.getNewCount());
+        assertEquals(0, diff.getOldPosition(0));
+        assertEquals(TabSpecDiff.NO_POSITION, diff.getOldPosition(1));
+        assertEquals(1, diff.getOldPosition(2));
+        assertEquals(0, diff.getRemovedPositions().length);
+    }
+
+    @Test
+    public void removedTab_IsReported() {
+        TabSpecDiff diff = TabSpecDiff.calculate(specs(RECENTS, FAVORITES, NEARBY), specs(RECENTS, NEARBY));
+
+        assertTrue(diff.hasStructuralChanges());
+        assertArrayEquals(new int[]{1}, diff.getRemovedPositions());
+        assertEquals(2, diff.getOldPosition(1));
+    }
+
+    @Test
+    public void movedTabs_KeepTheirOldPositions() {
+        TabSpecDiff diff = TabSpecDiff.calculate(specs(RECENTS, FAVORITES, NEARBY), specs(NEARBY, RECENTS, FAVORITES));
+
+        assertTrue(diff.hasStructuralChanges());
+        assertEquals(2, diff.getOldPosition(0));
+        assertEquals(0, diff.getOldPosition(1));
+        assertEquals(1, diff.getOldPosition(2));
+        assertFalse(diff.isChanged(0));
+    }
+
+    @Test
+    public void duplicateIds_AreMatchedOnlyOnce() {
+        TabSpecDiff diff = TabSpecDiff.calculate(specs(RECENTS), specs(RECENTS, tab(1, "Again")));
+
+        assertEquals(0, diff.getOldPosition(0));
+        assertEquals(TabSpecDiff.NO_POSITION, diff.getOldPosition(1));
+    }
+
+    private static List<TabSpec> specs(TabSpec... specs) {
+        return Arrays.asList(specs);
+    }
+
+    private static TabSpec tab(int id, String title) {
+        return new TabSpec.Builder()
+                .id(id)
+                .title(title)
+                .build();
+    }
+}
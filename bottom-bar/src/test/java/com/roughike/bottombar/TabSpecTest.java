@@ -0,0 +1,63 @@
+package com.roughike.bottombar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TabSpecTest {
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void unspecifiedValues_AreNull() {
+        TabSpec spec = new TabSpec.Builder()
+                .id(1)
+                .iconResId(2)
+                .title("Recents")
+                .build();
+
+        assertEquals(1, spec.getId());
+        assertEquals(2, spec.getIconResId());
+        assertEquals("Recents", spec.getTitle());
+        assertNull(spec.getInActiveColor());
+        assertNull(spec.getActiveColor());
+        assertNull(spec.getBarColorWhenSelected());
+        assertNull(spec.getBadgeBackgroundColor());
+        assertNull(spec.getBadgeHidesWhenActive());
+        assertFalse(spec.isTitleless());
+    }
+
+    @Test
+    public void specifiedValues_AreKept() {
+        TabSpec spec = new TabSpec.Builder()
+                .activeColor(RED)
+                .badgeHidesWhenActive(false)
+                .titleless(true)
+                .build();
+
+        assertEquals(RED, (int) spec.getActiveColor());
+        assertFalse(spec.getBadgeHidesWhenActive());
+        assertTrue(spec.isTitleless());
+    }
+
+    @Test
+    public void specsWithSameValues_AreEqual() {
+        TabSpec first = new TabSpec.Builder().id(1).title("Recents").activeColor(RED).build();
+        TabSpec second = new TabSpec.Builder().id(1).title("Recents").activeColor(RED).build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void specsWithDifferentValues_AreNotEqual() {
+        TabSpec first = new TabSpec.Builder().id(1).title("Recents").build();
+
+        assertNotEquals(first, new TabSpec.Builder().id(2).title("Recents").build());
+        assertNotEquals(first, new TabSpec.Builder().id(1).title("Favorites").build());
+        assertNotEquals(first, new TabSpec.Builder().id(1).title("Recents").activeColor(RED).build());
+    }
+}
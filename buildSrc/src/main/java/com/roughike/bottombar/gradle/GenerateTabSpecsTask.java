@@ -0,0 +1,128 @@
+package com.roughike.bottombar.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compiles the tab XML resources found in the {@code xml} folders of the given
+ * resource directories into a generated {@code BottomBarTabSpecs} class.
+ */
+public class GenerateTabSpecsTask extends DefaultTask {
+    private FileCollection resourceDirectories;
+    private String packageName;
+    private File outputDirectory;
+
+    @InputFiles
+    public FileCollection getResourceDirectories() {
+        return resourceDirectories;
+    }
+
+    public void setResourceDirectories(FileCollection resourceDirectories) {
+        this.resourceDirectories = resourceDirectories;
+    }
+
+    @Input
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    private static List<String> resourceNames(File directory) {
+        File[] files = directory.listFiles();
+        List<String> names = new ArrayList<>();
+
+        if (files == null) {
+            return names;
+        }
+
+        Arrays.sort(files);
+
+        for (File file : files) {
+            String fileName = file.getName();
+
+            if (fileName.endsWith(".xml")) {
+                names.add(fileName.substring(0, fileName.length() - ".xml".length()));
+            }
+        }
+
+        return names;
+    }
+
+    @TaskAction
+    public void generate() throws IOException {
+        Map<String, List<TabDefinition>> tabResources = new TreeMap<>();
+        Set<String> qualifiedResources = new HashSet<>();
+
+        // Later resource directories override earlier ones, just like in resource merging.
+        for (File resourceDirectory : resourceDirectories) {
+            File[] typeDirectories = resourceDirectory.listFiles();
+
+            if (typeDirectories == null) {
+                continue;
+            }
+
+            for (File typeDirectory : typeDirectories) {
+                if (typeDirectory.getName().startsWith("xml-")) {
+                    qualifiedResources.addAll(resourceNames(typeDirectory));
+                }
+            }
+
+            File xmlDirectory = new File(resourceDirectory, "xml");
+
+            for (String resourceName : resourceNames(xmlDirectory)) {
+                List<TabDefinition> tabs = TabXmlReader.read(new File(xmlDirectory, resourceName + ".xml"));
+
+                if (tabs != null) {
+                    tabResources.put(resourceName, tabs);
+                }
+            }
+        }
+
+        // Resources with configuration specific variants are left for TabParser,
+        // which picks the right variant at runtime.
+        tabResources.keySet().removeAll(qualifiedResources);
+
+        File packageDirectory = new File(outputDirectory, packageName.replace('.', File.separatorChar));
+
+        if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs()) {
+            throw new IOException("Could not create " + packageDirectory);
+        }
+
+        File sourceFile = new File(packageDirectory, TabSpecSourceWriter.CLASS_NAME + ".java");
+
+        try (Writer writer = new OutputStreamWriter(
+                Files.newOutputStream(sourceFile.toPath()), Charset.forName("UTF-8"))) {
+            writer.write(TabSpecSourceWriter.write(packageName, tabResources));
+        }
+    }
+}
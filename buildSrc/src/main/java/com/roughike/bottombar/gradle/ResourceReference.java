@@ -0,0 +1,72 @@
+package com.roughike.bottombar.gradle;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A resource reference such as {@code @+id/tab_recents} or {@code @android:color/white},
+ * as written in a tab XML resource.
+ */
+final class ResourceReference {
+    private static final Pattern REFERENCE = Pattern.compile("^@\\+?(?:(\\w+):)?(\\w+)/([\\w.]+)$");
+
+    final boolean isFrameworkResource;
+    final String type;
+    final String name;
+
+    private ResourceReference(boolean isFrameworkResource, String type, String name) {
+        this.isFrameworkResource = isFrameworkResource;
+        this.type = type;
+        this.name = name;
+    }
+
+    /**
+     * Returns the reference the given attribute value points to, or null if the
+     * value is a literal.
+     */
+    static ResourceReference parse(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Matcher matcher = REFERENCE.matcher(value.trim());
+
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        boolean isFrameworkResource = "android".equals(matcher.group(1));
+        return new ResourceReference(isFrameworkResource, matcher.group(2), matcher.group(3));
+    }
+
+    /**
+     * The Java expression for the resource id, for example {@code R.id.tab_recents}.
+     */
+    String toJava() {
+        return (isFrameworkResource ? "android.R." : "R.") + type + "." + name.replace('.', '_');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ResourceReference)) return false;
+
+        ResourceReference other = (ResourceReference) o;
+        return isFrameworkResource == other.isFrameworkResource
+                && type.equals(other.type)
+                && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = isFrameworkResource ? 1 : 0;
+        result = 31 * result + type.hashCode();
+        result = 31 * result + name.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toJava();
+    }
+}
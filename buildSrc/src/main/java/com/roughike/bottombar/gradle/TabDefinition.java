@@ -0,0 +1,32 @@
+package com.roughike.bottombar.gradle;
+
+/**
+ * The build time equivalent of a parsed {@code TabSpec}. Literal values are resolved
+ * already, while resource references are kept as references and resolved by the
+ * generated code at runtime.
+ */
+final class TabDefinition {
+    ResourceReference id;
+    ResourceReference icon;
+    String titleLiteral;
+    ResourceReference titleReference;
+    ColorValue inActiveColor;
+    ColorValue activeColor;
+    ColorValue barColorWhenSelected;
+    ColorValue badgeBackgroundColor;
+    Boolean badgeHidesWhenActive;
+    boolean iconOnly;
+
+    /**
+     * Either a literal color resolved at build time, or a color resource.
+     */
+    static final class ColorValue {
+        final Integer literal;
+        final ResourceReference reference;
+
+        ColorValue(Integer literal, ResourceReference reference) {
+            this.literal = literal;
+            this.reference = reference;
+        }
+    }
+}
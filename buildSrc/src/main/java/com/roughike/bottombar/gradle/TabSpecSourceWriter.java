@@ -0,0 +1,233 @@
+package com.roughike.bottombar.gradle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the Java source for a class that creates the {@code TabSpec}s of each
+ * tab XML resource without parsing any XML at runtime.
+ */
+final class TabSpecSourceWriter {
+    static final String CLASS_NAME = "BottomBarTabSpecs";
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder out = new StringBuilder();
+
+    private TabSpecSourceWriter() {
+    }
+
+    /**
+     * @param packageName  the package of the application's R class.
+     * @param tabResources the tabs of each XML resource, keyed by the resource name.
+     */
+    static String write(String packageName, Map<String, List<TabDefinition>> tabResources) {
+        return new TabSpecSourceWriter().writeClass(packageName, tabResources);
+    }
+
+    private String writeClass(String packageName, Map<String, List<TabDefinition>> tabResources) {
+        line(0, "// Generated from the tab XML resources by the BottomBar tab spec compiler. Do not edit.");
+        line(0, "package " + packageName + ";");
+        line(0, "");
+        line(0, "import android.content.Context;");
+        line(0, "import android.os.Build;");
+        line(0, "");
+        line(0, "import com.roughike.bottombar.TabSpec;");
+        line(0, "import com.roughike.bottombar.TabSpecProvider;");
+        line(0, "import com.roughike.bottombar.TabSpecRegistry;");
+        line(0, "");
+        line(0, "import java.util.Arrays;");
+        line(0, "import java.util.Collections;");
+        line(0, "import java.util.List;");
+        line(0, "");
+        line(0, "public final class " + CLASS_NAME + " {");
+        line(1, "// TabParser treats a color of -1 (opaque white) as \"not set\".");
+        line(1, "private static final int COLOR_NOT_SET = -1;");
+        line(0, "");
+        line(1, "private " + CLASS_NAME + "() {");
+        line(1, "}");
+        line(0, "");
+        writeRegister(tabResources);
+
+        for (Map.Entry<String, List<TabDefinition>> resource : tabResources.entrySet()) {
+            line(0, "");
+            writeFactory(resource.getKey(), resource.getValue());
+        }
+
+        line(0, "");
+        line(1, "@SuppressWarnings(\"deprecation\")");
+        line(1, "private static int color(Context context, int colorRes) {");
+        line(2, "if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {");
+        line(3, "return context.getColor(colorRes);");
+        line(2, "}");
+        line(0, "");
+        line(2, "return context.getResources().getColor(colorRes);");
+        line(1, "}");
+        line(0, "}");
+
+        return out.toString();
+    }
+
+    private void writeRegister(Map<String, List<TabDefinition>> tabResources) {
+        line(1, "/**");
+        line(1, " * Makes BottomBar use the generated TabSpecs instead of parsing the tab XML resources.");
+        line(1, " */");
+        line(1, "public static void register() {");
+
+        boolean first = true;
+        for (String resourceName : tabResources.keySet()) {
+            if (!first) {
+                line(0, "");
+            }
+
+            first = false;
+            line(2, "TabSpecRegistry.register(R.xml." + resourceName + ", new TabSpecProvider() {");
+            line(3, "@Override");
+            line(3, "public List<TabSpec> createTabSpecs(Context context) {");
+            line(4, "return " + methodName(resourceName) + "(context);");
+            line(3, "}");
+            line(2, "});");
+        }
+
+        line(1, "}");
+    }
+
+    private void writeFactory(String resourceName, List<TabDefinition> tabs) {
+        line(1, "public static List<TabSpec> " + methodName(resourceName) + "(Context context) {");
+
+        for (int i = 0; i < tabs.size(); i++) {
+            writeTab("tab" + i, tabs.get(i));
+            line(0, "");
+        }
+
+        line(2, "return Collections.unmodifiableList(Arrays.asList(");
+
+        for (int i = 0; i < tabs.size(); i++) {
+            line(4, "tab" + i + ".build()" + (i == tabs.size() - 1 ? "" : ","));
+        }
+
+        line(2, "));");
+        line(1, "}");
+    }
+
+    private void writeTab(String builderName, TabDefinition tab) {
+        List<String> calls = new ArrayList<>();
+
+        if (tab.id != null) {
+            calls.add(".id(" + tab.id.toJava() + ")");
+        }
+
+        if (tab.icon != null) {
+            calls.add(".iconResId(" + tab.icon.toJava() + ")");
+        }
+
+        if (tab.titleReference != null) {
+            calls.add(".title(context.getString(" + tab.titleReference.toJava() + "))");
+        } else if (tab.titleLiteral != null) {
+            calls.add(".title(" + stringLiteral(tab.titleLiteral) + ")");
+        }
+
+        addColorLiteral(calls, "inActiveColor", tab.inActiveColor);
+        addColorLiteral(calls, "activeColor", tab.activeColor);
+        addColorLiteral(calls, "barColorWhenSelected", tab.barColorWhenSelected);
+        addColorLiteral(calls, "badgeBackgroundColor", tab.badgeBackgroundColor);
+
+        if (tab.badgeHidesWhenActive != null) {
+            calls.add(".badgeHidesWhenActive(" + tab.badgeHidesWhenActive + ")");
+        }
+
+        if (tab.iconOnly) {
+            calls.add(".titleless(true)");
+        }
+
+        line(2, "TabSpec.Builder " + builderName + " = new TabSpec.Builder()" + (calls.isEmpty() ? ";" : ""));
+
+        for (int i = 0; i < calls.size(); i++) {
+            line(4, calls.get(i) + (i == calls.size() - 1 ? ";" : ""));
+        }
+
+        writeColorResource(builderName, "inActiveColor", tab.inActiveColor);
+        writeColorResource(builderName, "activeColor", tab.activeColor);
+        writeColorResource(builderName, "barColorWhenSelected", tab.barColorWhenSelected);
+        writeColorResource(builderName, "badgeBackgroundColor", tab.badgeBackgroundColor);
+    }
+
+    private static void addColorLiteral(List<String> calls, String builderMethod, TabDefinition.ColorValue color) {
+        if (color != null && color.literal != null) {
+            calls.add("." + builderMethod + "(" + String.format(Locale.ROOT, "0x%08X", color.literal) + ")");
+        }
+    }
+
+    /**
+     * Color resources are only known at runtime, so the generated code skips
+     * the ones resolving to -1 itself, just like TabParser does.
+     */
+    private void writeColorResource(String builderName, String builderMethod, TabDefinition.ColorValue color) {
+        if (color == null || color.reference == null) {
+            return;
+        }
+
+        String variable = builderName + Character.toUpperCase(builderMethod.charAt(0)) + builderMethod.substring(1);
+
+        line(0, "");
+        line(2, "int " + variable + " = color(context, " + color.reference.toJava() + ");");
+        line(2, "if (" + variable + " != COLOR_NOT_SET) {");
+        line(3, builderName + "." + builderMethod + "(" + variable + ");");
+        line(2, "}");
+    }
+
+    static String methodName(String resourceName) {
+        StringBuilder name = new StringBuilder(resourceName.length());
+        boolean upperCaseNext = false;
+
+        for (char c : resourceName.toCharArray()) {
+            if (c == '_' || c == '.') {
+                upperCaseNext = name.length() > 0;
+            } else {
+                name.append(upperCaseNext ? Character.toUpperCase(c) : c);
+                upperCaseNext = false;
+            }
+        }
+
+        return name.toString();
+    }
+
+    static String stringLiteral(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7E) {
+                        literal.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    private void line(int indentation, String text) {
+        for (int i = 0; i < indentation; i++) {
+            out.append(INDENT);
+        }
+
+        out.append(text).append('\n');
+    }
+}
@@ -0,0 +1,207 @@
+package com.roughike.bottombar.gradle;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Reads tab XML resources the same way the runtime {@code TabParser} does.
+ */
+final class TabXmlReader {
+    private static final String TABS_TAG = "tabs";
+    private static final String TAB_TAG = "tab";
+
+    private static final String ID = "id";
+    private static final String ICON = "icon";
+    private static final String TITLE = "title";
+    private static final String INACTIVE_COLOR = "inActiveColor";
+    private static final String ACTIVE_COLOR = "activeColor";
+    private static final String BAR_COLOR_WHEN_SELECTED = "barColorWhenSelected";
+    private static final String BADGE_BACKGROUND_COLOR = "badgeBackgroundColor";
+    private static final String BADGE_HIDES_WHEN_ACTIVE = "badgeHidesWhenActive";
+    private static final String IS_TITLELESS = "iconOnly";
+
+    // TabParser treats a color of -1 (opaque white) as "not set". Literal colors
+    // are checked here, color resources by the generated code at runtime.
+    private static final int COLOR_NOT_SET = -1;
+
+    // The color names android.graphics.Color#parseColor understands.
+    private static final Map<String, Integer> COLOR_NAMES;
+
+    static {
+        Map<String, Integer> names = new HashMap<>();
+        names.put("black", 0xFF000000);
+        names.put("darkgray", 0xFF444444);
+        names.put("gray", 0xFF888888);
+        names.put("lightgray", 0xFFCCCCCC);
+        names.put("white", 0xFFFFFFFF);
+        names.put("red", 0xFFFF0000);
+        names.put("green", 0xFF00FF00);
+        names.put("blue", 0xFF0000FF);
+        names.put("yellow", 0xFFFFFF00);
+        names.put("cyan", 0xFF00FFFF);
+        names.put("magenta", 0xFFFF00FF);
+        names.put("aqua", 0xFF00FFFF);
+        names.put("fuchsia", 0xFFFF00FF);
+        names.put("darkgrey", 0xFF444444);
+        names.put("grey", 0xFF888888);
+        names.put("lightgrey", 0xFFCCCCCC);
+        names.put("lime", 0xFF00FF00);
+        names.put("maroon", 0xFF800000);
+        names.put("navy", 0xFF000080);
+        names.put("olive", 0xFF808000);
+        names.put("purple", 0xFF800080);
+        names.put("silver", 0xFFC0C0C0);
+        names.put("teal", 0xFF008080);
+        COLOR_NAMES = Collections.unmodifiableMap(names);
+    }
+
+    private TabXmlReader() {
+    }
+
+    /**
+     * Reads the tabs from the given XML file.
+     *
+     * @return the tabs, or null if the file isn't a tab XML resource.
+     */
+    static List<TabDefinition> read(File xmlFile) throws IOException {
+        Document document;
+
+        try {
+            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xmlFile);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Could not parse " + xmlFile, e);
+        }
+
+        Element root = document.getDocumentElement();
+
+        if (!TABS_TAG.equals(root.getTagName())) {
+            return null;
+        }
+
+        NodeList tabElements = root.getElementsByTagName(TAB_TAG);
+        List<TabDefinition> tabs = new ArrayList<>(tabElements.getLength());
+
+        for (int i = 0; i < tabElements.getLength(); i++) {
+            tabs.add(readTab((Element) tabElements.item(i)));
+        }
+
+        return tabs;
+    }
+
+    private static TabDefinition readTab(Element element) {
+        TabDefinition tab = new TabDefinition();
+        NamedNodeMap attributes = element.getAttributes();
+
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            String value = attribute.getNodeValue();
+
+            switch (attribute.getNodeName()) {
+                case ID:
+                    tab.id = ResourceReference.parse(value);
+                    break;
+                case ICON:
+                    tab.icon = ResourceReference.parse(value);
+                    break;
+                case TITLE:
+                    tab.titleReference = ResourceReference.parse(value);
+                    tab.titleLiteral = tab.titleReference == null ? value : null;
+                    break;
+                case INACTIVE_COLOR:
+                    tab.inActiveColor = readColor(value);
+                    break;
+                case ACTIVE_COLOR:
+                    tab.activeColor = readColor(value);
+                    break;
+                case BAR_COLOR_WHEN_SELECTED:
+                    tab.barColorWhenSelected = readColor(value);
+                    break;
+                case BADGE_BACKGROUND_COLOR:
+                    tab.badgeBackgroundColor = readColor(value);
+                    break;
+                case BADGE_HIDES_WHEN_ACTIVE:
+                    tab.badgeHidesWhenActive = readBoolean(value, true);
+                    break;
+                case IS_TITLELESS:
+                    tab.iconOnly = readBoolean(value, false);
+                    break;
+            }
+        }
+
+        return tab;
+    }
+
+    private static TabDefinition.ColorValue readColor(String value) {
+        ResourceReference reference = ResourceReference.parse(value);
+
+        if (reference != null) {
+            return new TabDefinition.ColorValue(null, reference);
+        }
+
+        Integer color = parseColor(value);
+
+        if (color == null || color == COLOR_NOT_SET) {
+            return null;
+        }
+
+        return new TabDefinition.ColorValue(color, null);
+    }
+
+    /**
+     * Does what android.graphics.Color#parseColor does, returning null where
+     * it would throw.
+     */
+    static Integer parseColor(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        if (value.charAt(0) == '#') {
+            long color;
+
+            try {
+                color = Long.parseLong(value.substring(1), 16);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            if (value.length() == 7) {
+                color |= 0x00000000FF000000L;
+            } else if (value.length() != 9) {
+                return null;
+            }
+
+            return (int) color;
+        }
+
+        return COLOR_NAMES.get(value.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean readBoolean(String value, boolean defaultValue) {
+        if ("true".equals(value)) {
+            return true;
+        }
+
+        if ("false".equals(value)) {
+            return false;
+        }
+
+        return defaultValue;
+    }
+}
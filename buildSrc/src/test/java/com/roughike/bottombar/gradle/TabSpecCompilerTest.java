@@ -0,0 +1,171 @@
+package com.roughike.bottombar.gradle;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks how the build time compiler reads the tab XML and what it generates.
+ * That the generated TabSpecs match what TabParser reads at runtime is checked
+ * by BottomBarTabSpecsTest in the instrumentation tests.
+ */
+public class TabSpecCompilerTest {
+    private List<TabDefinition> tabs;
+
+    @Before
+    public void setUp() throws Exception {
+        tabs = readFixture("dummy_tabs_five.xml");
+    }
+
+    @Test
+    public void correctAmountOfTabs() {
+        assertEquals(5, tabs.size());
+    }
+
+    @Test
+    public void idsAreResourceReferences() {
+        assertEquals("R.id.tab_recents", tabs.get(0).id.toJava());
+        assertEquals("R.id.tab_favorites", tabs.get(1).id.toJava());
+        assertEquals("R.id.tab_nearby", tabs.get(2).id.toJava());
+        assertEquals("R.id.tab_friends", tabs.get(3).id.toJava());
+        assertEquals("R.id.tab_food", tabs.get(4).id.toJava());
+    }
+
+    @Test
+    public void correctTabTitles() {
+        assertEquals("Recents", tabs.get(0).titleLiteral);
+        assertEquals("R.string.favorites", tabs.get(1).titleReference.toJava());
+        assertEquals("Nearby", tabs.get(2).titleLiteral);
+        assertEquals("R.string.friends", tabs.get(3).titleReference.toJava());
+        assertEquals("Food", tabs.get(4).titleLiteral);
+    }
+
+    @Test
+    public void correctInActiveColors() {
+        assertEquals(0xFF00FF00, (int) tabs.get(0).inActiveColor.literal);
+        assertEquals(0xFF0000FF, (int) tabs.get(1).inActiveColor.literal);
+        assertEquals(0xFFFF0000, (int) tabs.get(2).inActiveColor.literal);
+        assertEquals(0xFFF0F000, (int) tabs.get(3).inActiveColor.literal);
+        assertEquals(0xFFF00F00, (int) tabs.get(4).inActiveColor.literal);
+    }
+
+    @Test
+    public void correctActiveColors() {
+        assertEquals(0xFFFF0000, (int) tabs.get(0).activeColor.literal);
+        assertEquals("R.color.test_random_color", tabs.get(1).activeColor.reference.toJava());
+        assertEquals(0xFF0000FF, (int) tabs.get(2).activeColor.literal);
+        assertEquals("R.color.test_random_color_two", tabs.get(3).activeColor.reference.toJava());
+        assertEquals(0xFFF00F00, (int) tabs.get(4).activeColor.literal);
+    }
+
+    @Test
+    public void iconResourcesAsExpected() {
+        for (TabDefinition tab : tabs) {
+            assertEquals("R.drawable.empty_icon", tab.icon.toJava());
+        }
+    }
+
+    @Test
+    public void barColorWhenSelectedAsExpected() {
+        assertEquals(0xFFFF0000, (int) tabs.get(0).barColorWhenSelected.literal);
+        assertEquals(0xFF00FF00, (int) tabs.get(1).barColorWhenSelected.literal);
+        assertEquals(0xFFF00000, (int) tabs.get(2).barColorWhenSelected.literal);
+        assertEquals(0xFF00F000, (int) tabs.get(3).barColorWhenSelected.literal);
+        assertEquals(0xFF00F0F0, (int) tabs.get(4).barColorWhenSelected.literal);
+    }
+
+    @Test
+    public void badgeBackgroundColorAsExpected() {
+        assertEquals(0xFFFF0000, (int) tabs.get(0).badgeBackgroundColor.literal);
+        assertEquals(0xFF00FF00, (int) tabs.get(1).badgeBackgroundColor.literal);
+        assertEquals(0xFFF00000, (int) tabs.get(2).badgeBackgroundColor.literal);
+        assertEquals(0xFF00F000, (int) tabs.get(3).badgeBackgroundColor.literal);
+        assertEquals(0xFF00F0F0, (int) tabs.get(4).badgeBackgroundColor.literal);
+    }
+
+    @Test
+    public void correctBadgeHidingPolicies() {
+        assertFalse(tabs.get(0).badgeHidesWhenActive);
+        assertNull(tabs.get(1).badgeHidesWhenActive);
+        assertFalse(tabs.get(2).badgeHidesWhenActive);
+        assertTrue(tabs.get(3).badgeHidesWhenActive);
+        assertNull(tabs.get(4).badgeHidesWhenActive);
+    }
+
+    @Test
+    public void titlelessTabsAsExpected() {
+        assertFalse(tabs.get(0).iconOnly);
+        assertFalse(tabs.get(1).iconOnly);
+        assertTrue(tabs.get(2).iconOnly);
+        assertFalse(tabs.get(3).iconOnly);
+        assertTrue(tabs.get(4).iconOnly);
+    }
+
+    @Test
+    public void colorsParsedLikeColorParseColor() {
+        assertEquals(0xFFFF0000, (int) TabXmlReader.parseColor("red"));
+        assertEquals(0x80FF0000, (int) TabXmlReader.parseColor("#80FF0000"));
+        assertNull(TabXmlReader.parseColor("#F00"));
+        assertNull(TabXmlReader.parseColor("notacolor"));
+    }
+
+    @Test
+    public void generatedSource_BuildsEveryTab() {
+        String source = TabSpecSourceWriter.write("com.example",
+                Collections.singletonMap("dummy_tabs_five", tabs));
+
+        assertTrue(source.contains("package com.example;"));
+        assertTrue(source.contains("TabSpecRegistry.register(R.xml.dummy_tabs_five,"));
+        assertTrue(source.contains("public static List<TabSpec> dummyTabsFive(Context context)"));
+        assertTrue(source.contains(".title(context.getString(R.string.favorites))"));
+        assertTrue(source.contains("int tab1ActiveColor = color(context, R.color.test_random_color);"));
+        assertTrue(source.contains(".inActiveColor(0xFF00FF00)"));
+        assertEquals(5, countOccurrences(source, "new TabSpec.Builder()"));
+    }
+
+    @Test
+    public void whiteColors_AreNotSet() throws Exception {
+        List<TabDefinition> whiteTabs = readFixture("dummy_tabs_white.xml");
+        assertNull(whiteTabs.get(0).inActiveColor);
+
+        String source = TabSpecSourceWriter.write("com.example",
+                Collections.singletonMap("dummy_tabs_white", whiteTabs));
+
+        // Color resources can resolve to white too, so they're checked at runtime.
+        assertTrue(source.contains("int tab0ActiveColor = color(context, R.color.test_white);"));
+        assertTrue(source.contains("if (tab0ActiveColor != COLOR_NOT_SET) {"));
+        assertTrue(source.contains("tab0.activeColor(tab0ActiveColor);"));
+        assertFalse(source.contains(".inActiveColor("));
+    }
+
+    @Test
+    public void stringLiteralsAreEscaped() {
+        assertEquals("\"Say \\\"hi\\\"\\n\\u00e4\"", TabSpecSourceWriter.stringLiteral("Say \"hi\"\n\u00e4"));
+    }
+
+    private static List<TabDefinition> readFixture(String name) throws Exception {
+        URL fixture = TabSpecCompilerTest.class.getResource("/" + name);
+        return TabXmlReader.read(new File(fixture.toURI()));
+    }
+
+    private static int countOccurrences(String text, String part) {
+        int count = 0;
+        int index = text.indexOf(part);
+
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(part, index + part.length());
+        }
+
+        return count;
+    }
+}